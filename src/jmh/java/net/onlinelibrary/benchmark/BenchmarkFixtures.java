@@ -0,0 +1,112 @@
+package net.onlinelibrary.benchmark;
+
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.Role;
+import net.onlinelibrary.model.User;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+final class BenchmarkFixtures {
+	static final int ASSOCIATIONS_PER_OWNER = 3;
+
+	private BenchmarkFixtures() {
+	}
+
+	// the association queries answer with ASSOCIATIONS_PER_OWNER rows per requested owner, anything else is off limits
+	@SuppressWarnings("unchecked")
+	static <R> R associationRepository(Class<R> repositoryType) {
+		return (R) Proxy.newProxyInstance(
+				repositoryType.getClassLoader(),
+				new Class<?>[]{repositoryType},
+				(proxy, method, args) -> {
+					if (!method.getName().matches("find\\w+IdsOf\\w+"))
+						throw new UnsupportedOperationException(method.getName());
+
+					List<Object[]> rows = new ArrayList<>();
+					for (Object ownerId : (Collection<?>) args[0])
+						for (long i = 0; i < ASSOCIATIONS_PER_OWNER; i++)
+							rows.add(new Object[]{ownerId, (Long) ownerId * 10 + i});
+					return rows;
+				});
+	}
+
+	static List<Book> books(int count) {
+		List<Book> books = new ArrayList<>();
+		Date now = new Date();
+		for (long id = 1; id <= count; id++) {
+			Book book = new Book();
+			book.setId(id);
+			book.setCreatedDate(now);
+			book.setLastModifiedDate(now);
+			book.setName("Book " + id);
+			book.setAvatar("https://images.example.net/books/" + id + ".png");
+			book.setPagesCount(300);
+			book.setPublicationYear(2000);
+			book.setRating(id % 5);
+			book.setShortDescription("Short description of the book number " + id);
+			books.add(book);
+		}
+		return books;
+	}
+
+	static List<BookDto> bookDtos(int count) {
+		List<BookDto> dtos = new ArrayList<>();
+		for (Book book : books(count)) {
+			BookDto dto = new BookDto();
+			dto.setId(book.getId());
+			dto.setCreatedDate(book.getCreatedDate());
+			dto.setLastModifiedDate(book.getLastModifiedDate());
+			dto.setName(book.getName());
+			dto.setAvatar(book.getAvatar());
+			dto.setPagesCount(book.getPagesCount());
+			dto.setPublicationYear(book.getPublicationYear());
+			dto.setRating(book.getRating());
+			dto.setShortDescription(book.getShortDescription());
+			dto.setAuthors(Arrays.asList(book.getId() * 10, book.getId() * 10 + 1));
+			dto.setGenres(Collections.singletonList(book.getId() % 20));
+			dto.setComments(Arrays.asList(book.getId() * 10, book.getId() * 10 + 1, book.getId() * 10 + 2));
+			dtos.add(dto);
+		}
+		return dtos;
+	}
+
+	static List<User> users(int count) {
+		List<User> users = new ArrayList<>();
+		Date now = new Date();
+		for (long id = 1; id <= count; id++) {
+			User user = new User();
+			user.setId(id);
+			user.setCreatedDate(now);
+			user.setLastModifiedDate(now);
+			user.setUsername("reader_" + id);
+			user.setEmail("reader." + id + "@example.net");
+			user.setPassword("Secret.Password" + id);
+			user.setActive(true);
+			user.setRoles(new HashSet<>(Arrays.asList(Role.USER, Role.MODERATOR)));
+			user.setComments(new ArrayList<>());
+			users.add(user);
+		}
+		return users;
+	}
+
+	static List<Comment> comments(int count) {
+		List<Comment> comments = new ArrayList<>();
+		List<Book> books = books(count);
+		List<User> users = users(count);
+		for (int i = 0; i < count; i++) {
+			Comment comment = new Comment();
+			comment.setId(i + 1L);
+			comment.setCreatedDate(books.get(i).getCreatedDate());
+			comment.setLastModifiedDate(books.get(i).getLastModifiedDate());
+			comment.setText("A comment about the book number " + (i + 1));
+			comment.setRating((long) i % 5);
+			comment.setBook(books.get(i));
+			comment.setUser(users.get(i));
+			comments.add(comment);
+		}
+		return comments;
+	}
+}
@@ -0,0 +1,68 @@
+package net.onlinelibrary.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.view.Views;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// plain object mappers without the streaming converter, so encoding and decoding of each format are compared alone
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+	private static final int BOOKS_COUNT = 1000;
+
+	@Param({"ForEvery", "ForAdmin"})
+	private String view;
+
+	@Param({"json", "smile", "cbor"})
+	private String format;
+
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private List<BookDto> books;
+	private byte[] payload;
+
+	@Setup
+	public void setUp() throws ClassNotFoundException, IOException {
+		Jackson2ObjectMapperBuilder builder;
+		switch (format) {
+			case "smile":
+				builder = Jackson2ObjectMapperBuilder.smile();
+				break;
+			case "cbor":
+				builder = Jackson2ObjectMapperBuilder.cbor();
+				break;
+			default:
+				builder = Jackson2ObjectMapperBuilder.json();
+		}
+
+		ObjectMapper objectMapper = builder.build();
+		Class<?> viewClass = Class.forName(Views.class.getName() + "$" + view);
+		writer = objectMapper.writerWithView(viewClass);
+		reader = objectMapper.readerWithView(viewClass)
+				.forType(objectMapper.getTypeFactory().constructCollectionType(List.class, BookDto.class));
+		books = BenchmarkFixtures.bookDtos(BOOKS_COUNT);
+		payload = writer.writeValueAsBytes(books);
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return writer.writeValueAsBytes(books);
+	}
+
+	@Benchmark
+	public List<BookDto> decode() throws IOException {
+		return reader.readValue(payload);
+	}
+}
@@ -0,0 +1,78 @@
+package net.onlinelibrary.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.onlinelibrary.config.StreamingJacksonHttpMessageConverter;
+import net.onlinelibrary.dto.BaseDto;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.dto.view.Views;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// the converter and object mapper are set up as WebConfig does it for the book list endpoints
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookStreamSerializationBenchmark {
+	private static final int BOOKS_COUNT = 1000;
+
+	@Param({"ForEvery", "ForUser", "ForModerator", "ForAdmin", "ForSuperAdmin"})
+	private String view;
+
+	@Param({"json", "smile", "cbor"})
+	private String format;
+
+	private StreamingJacksonHttpMessageConverter converter;
+	private MediaType mediaType;
+	private Class<?> viewClass;
+	private List<BookDto> books;
+
+	@Setup
+	public void setUp() throws ClassNotFoundException {
+		Jackson2ObjectMapperBuilder builder;
+		switch (format) {
+			case "smile":
+				builder = Jackson2ObjectMapperBuilder.smile();
+				mediaType = new MediaType("application", "x-jackson-smile");
+				break;
+			case "cbor":
+				builder = Jackson2ObjectMapperBuilder.cbor();
+				mediaType = MediaType.APPLICATION_CBOR;
+				break;
+			default:
+				builder = Jackson2ObjectMapperBuilder.json();
+				mediaType = MediaType.APPLICATION_JSON;
+		}
+
+		ObjectMapper objectMapper = builder.build()
+				.addMixIn(BaseDto.class, Fieldset.Filtered.class)
+				.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+		converter = new StreamingJacksonHttpMessageConverter(objectMapper, new SimpleMeterRegistry(), mediaType);
+		viewClass = Class.forName(Views.class.getName() + "$" + view);
+		books = BenchmarkFixtures.bookDtos(BOOKS_COUNT);
+	}
+
+	@Benchmark
+	public MockHttpOutputMessage writeStream() throws IOException {
+		MappingJacksonValue value = new MappingJacksonValue(books.stream());
+		value.setSerializationView(viewClass);
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(value, Stream.class, mediaType, outputMessage);
+		return outputMessage;
+	}
+}
@@ -0,0 +1,70 @@
+package net.onlinelibrary.benchmark;
+
+import io.jsonwebtoken.Claims;
+import net.onlinelibrary.model.Role;
+import net.onlinelibrary.security.jwt.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// verification is what the filter does per request: a cache hit costs a digest, a miss parses and checks the signature
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+	private static final int UNCACHED_TOKENS = 1024;
+
+	private final Set<Role> roles = new HashSet<>(Arrays.asList(Role.USER, Role.MODERATOR));
+
+	private JwtTokenProvider cachingProvider;
+	private JwtTokenProvider uncachedProvider;
+
+	private String token;
+	private String[] uncachedTokens;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		cachingProvider = provider(10_000);
+		uncachedProvider = provider(0);
+
+		token = cachingProvider.createToken(1L, "reader_1", roles);
+		cachingProvider.getVerifiedClaims(token);
+
+		uncachedTokens = new String[UNCACHED_TOKENS];
+		for (int i = 0; i < UNCACHED_TOKENS; i++)
+			uncachedTokens[i] = uncachedProvider.createToken((long) i, "reader_" + i, roles);
+	}
+
+	@Benchmark
+	public String createToken() {
+		return cachingProvider.createToken(1L, "reader_1", roles);
+	}
+
+	@Benchmark
+	public Claims verifyCached() {
+		return cachingProvider.getVerifiedClaims(token);
+	}
+
+	@Benchmark
+	public Claims verifyUncached() {
+		next = (next + 1) % UNCACHED_TOKENS;
+		return uncachedProvider.getVerifiedClaims(uncachedTokens[next]);
+	}
+
+	private static JwtTokenProvider provider(long cacheSize) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "secret", "benchmark-secret");
+		ReflectionTestUtils.setField(provider, "validityInMilliseconds", TimeUnit.HOURS.toMillis(1));
+		ReflectionTestUtils.setField(provider, "verifiedClaimsCacheSize", cacheSize);
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+}
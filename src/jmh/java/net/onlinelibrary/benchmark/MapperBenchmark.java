@@ -0,0 +1,66 @@
+package net.onlinelibrary.benchmark;
+
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.CommentDto;
+import net.onlinelibrary.dto.UserDto;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.User;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.CommentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// repositories are stubbed, so only the mapping itself and the grouping of association ids are measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+	@Param({"1", "50"})
+	private int count;
+
+	private BookMapper bookMapper;
+	private UserMapper userMapper;
+	private CommentMapper commentMapper;
+
+	private List<Book> books;
+	private List<User> users;
+	private List<Comment> comments;
+
+	@Setup
+	public void setUp() {
+		BookRepository bookRepo = BenchmarkFixtures.associationRepository(BookRepository.class);
+		CommentRepository commentRepo = BenchmarkFixtures.associationRepository(CommentRepository.class);
+
+		bookMapper = new BookMapper(bookRepo, commentRepo, null);
+		userMapper = new UserMapper(commentRepo);
+		commentMapper = new CommentMapper(null, null);
+
+		books = BenchmarkFixtures.books(count);
+		users = BenchmarkFixtures.users(count);
+		comments = BenchmarkFixtures.comments(count);
+	}
+
+	@Benchmark
+	public List<BookDto> bookToDtos() {
+		return bookMapper.toDtos(books);
+	}
+
+	@Benchmark
+	public List<UserDto> userToDtos() {
+		return userMapper.toDtos(users);
+	}
+
+	@Benchmark
+	public List<CommentDto> commentToDtos() {
+		return commentMapper.toDtos(comments);
+	}
+}
@@ -0,0 +1,47 @@
+package net.onlinelibrary.benchmark;
+
+import net.onlinelibrary.exception.ValidationException;
+import net.onlinelibrary.model.User;
+import net.onlinelibrary.validator.implementation.UserValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// the uniqueness check goes to the database and is left out, what remains are the pattern matches
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidatorBenchmark {
+	private UserValidator validator;
+	private User validUser;
+	private User weakPasswordUser;
+
+	@Setup
+	public void setUp() {
+		validator = new UserValidator(null);
+		validUser = BenchmarkFixtures.users(1).get(0);
+
+		// a long password without an upper case letter makes the lookaheads scan it to the end
+		weakPasswordUser = BenchmarkFixtures.users(1).get(0);
+		weakPasswordUser.setPassword("a.very.long.password.without.any.capital.letter.1234567890");
+	}
+
+	@Benchmark
+	public User validate() throws ValidationException {
+		validator.validate(validUser, true, false);
+		return validUser;
+	}
+
+	@Benchmark
+	public ValidationException rejectWeakPassword() {
+		try {
+			validator.validate(weakPasswordUser, true, false);
+		} catch (ValidationException e) {
+			return e;
+		}
+		throw new IllegalStateException("weak password was accepted");
+	}
+}
@@ -1,7 +1,14 @@
 package net.onlinelibrary;
 
+import net.onlinelibrary.repository.CatalogCopyLoader;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Paths;
 
 @SpringBootApplication
 public class OnlineLibraryApplication {
@@ -10,4 +17,21 @@ public class OnlineLibraryApplication {
 		SpringApplication.run(OnlineLibraryApplication.class, args);
 	}
 
+	@Bean
+	public ApplicationRunner catalogLoadRunner(
+			CatalogCopyLoader catalogLoader,
+			CacheService cacheService,
+			EntityCounterService counterService) {
+		return args -> {
+			if (!args.containsOption("catalog.load"))
+				return;
+
+			for (String directory : args.getOptionValues("catalog.load"))
+				catalogLoader.load(Paths.get(directory));
+
+			cacheService.evictAll();
+			counterService.reconcile();
+		};
+	}
+
 }
@@ -0,0 +1,120 @@
+package net.onlinelibrary.cache;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+// buffers the body up to a limit, past it the buffered bytes are written out and the rest streams through,
+// so a large response is neither held in memory nor cached
+public class BoundedResponseBuffer extends HttpServletResponseWrapper {
+    private final int limit;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean overflowed;
+
+    public BoundedResponseBuffer(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public byte[] getBufferedBody() {
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null)
+            outputStream = new BufferingOutputStream();
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null)
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        return writer;
+    }
+
+    // the length is set once the body is complete
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (overflowed)
+            super.flushBuffer();
+    }
+
+    public void copyBodyToResponse() throws IOException {
+        if (writer != null)
+            writer.flush();
+
+        if (overflowed) {
+            getResponse().flushBuffer();
+            return;
+        }
+
+        if (buffer.size() > 0) {
+            if (!getResponse().isCommitted())
+                getResponse().setContentLength(buffer.size());
+            buffer.writeTo(getResponse().getOutputStream());
+        }
+        getResponse().flushBuffer();
+    }
+
+    private void overflow() throws IOException {
+        overflowed = true;
+        buffer.writeTo(getResponse().getOutputStream());
+        buffer.reset();
+    }
+
+    private class BufferingOutputStream extends ServletOutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!overflowed && buffer.size() + len > limit)
+                overflow();
+
+            if (overflowed)
+                getResponse().getOutputStream().write(b, off, len);
+            else
+                buffer.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (overflowed)
+                getResponse().getOutputStream().flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package net.onlinelibrary.cache;
+
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Getter
+public class RenderedResponse {
+    private final String contentType;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final Map<Class<?>, Long> generations;
+
+    private volatile byte[] gzipBody;
+
+    public RenderedResponse(
+            String contentType,
+            Map<String, String> headers,
+            byte[] body,
+            Map<Class<?>, Long> generations) {
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+        this.generations = generations;
+    }
+
+    public byte[] getGzipBody() {
+        byte[] gzipped = gzipBody;
+        if (gzipped == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            gzipped = out.toByteArray();
+            gzipBody = gzipped;
+        }
+        return gzipped;
+    }
+}
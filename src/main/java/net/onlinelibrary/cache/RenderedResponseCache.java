@@ -0,0 +1,74 @@
+package net.onlinelibrary.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class RenderedResponseCache {
+    private final Cache<String, RenderedResponse> responses;
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public RenderedResponseCache(
+            @Value("${web.response-cache.ttl}") long ttlInMilliseconds,
+            @Value("${web.response-cache.max-bytes}") long maxBytes) {
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttlInMilliseconds, TimeUnit.MILLISECONDS)
+                .maximumWeight(maxBytes)
+                .weigher((String key, RenderedResponse response) -> key.length() + response.getBody().length)
+                .build();
+    }
+
+    public Map<Class<?>, Long> snapshot(Set<Class<?>> tags) {
+        Map<Class<?>, Long> snapshot = new HashMap<>();
+        for (Class<?> tag : tags)
+            snapshot.put(tag, generation(tag).get());
+        return snapshot;
+    }
+
+    public RenderedResponse get(String key) {
+        RenderedResponse response = responses.getIfPresent(key);
+        if (response == null || isCurrent(response.getGenerations()))
+            return response;
+
+        responses.invalidate(key);
+        return null;
+    }
+
+    public void put(String key, RenderedResponse response) {
+        if (isCurrent(response.getGenerations()))
+            responses.put(key, response);
+    }
+
+    public void invalidate(Class<?> tag) {
+        generation(tag).incrementAndGet();
+        log.info("IN invalidate - rendered responses tagged " + tag.getSimpleName() + " invalidated");
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        responses.invalidateAll();
+        log.info("IN invalidateAll - all rendered responses invalidated");
+    }
+
+    private boolean isCurrent(Map<Class<?>, Long> snapshot) {
+        for (Map.Entry<Class<?>, Long> entry : snapshot.entrySet())
+            if (generation(entry.getKey()).get() != entry.getValue())
+                return false;
+        return true;
+    }
+
+    private AtomicLong generation(Class<?> tag) {
+        return generations.computeIfAbsent(tag, t -> new AtomicLong());
+    }
+}
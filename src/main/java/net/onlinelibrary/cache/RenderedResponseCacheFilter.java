@@ -0,0 +1,191 @@
+package net.onlinelibrary.cache;
+
+import net.onlinelibrary.dto.view.Views;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.util.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Component
+public class RenderedResponseCacheFilter extends OncePerRequestFilter {
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("^/api/(books|authors|genres)(/[^/]+)*/?$");
+    private static final Pattern UNCACHEABLE_PATH = Pattern.compile("/(comments|details)(/|$)");
+    private static final List<String> CACHED_HEADERS = Arrays.asList(
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, Headers.HAS_MORE, Headers.NEXT_CURSOR);
+
+    private static final Map<String, Class<?>> TAGS = new LinkedHashMap<>();
+
+    static {
+        TAGS.put("books", Book.class);
+        TAGS.put("authors", Author.class);
+        TAGS.put("genres", Genre.class);
+    }
+
+    private final RenderedResponseCache cache;
+    private final int maxEntryBytes;
+    private final int maxElements;
+
+    public RenderedResponseCacheFilter(
+            RenderedResponseCache cache,
+            @Value("${web.response-cache.max-entry-bytes}") int maxEntryBytes,
+            @Value("${web.response-cache.max-elements}") int maxElements) {
+        this.cache = cache;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxElements = maxElements;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"GET".equals(request.getMethod()) ||
+                !CACHEABLE_PATH.matcher(path).matches() ||
+                UNCACHEABLE_PATH.matcher(path).find() ||
+                requestedElements(request) > maxElements;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String key = keyOf(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        RenderedResponse cached = cache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        Map<Class<?>, Long> generations = cache.snapshot(tagsOf(request.getRequestURI()));
+        BoundedResponseBuffer wrapper = new BoundedResponseBuffer(response, maxEntryBytes);
+        // a body that failed halfway is neither cached nor copied, the exception is left to the error handling
+        filterChain.doFilter(request, wrapper);
+
+        if (!wrapper.isOverflowed() &&
+                wrapper.getStatus() == HttpServletResponse.SC_OK &&
+                wrapper.getContentType() != null) {
+            Map<String, String> headers = new HashMap<>();
+            for (String header : CACHED_HEADERS)
+                if (wrapper.getHeader(header) != null)
+                    headers.put(header, wrapper.getHeader(header));
+
+            cache.put(key, new RenderedResponse(
+                    wrapper.getContentType(),
+                    headers,
+                    wrapper.getBufferedBody(),
+                    generations));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(RenderedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        cached.getHeaders().forEach(headers::set);
+
+        String etag = headers.getETag();
+        long lastModified = headers.getLastModified();
+        headers.remove(HttpHeaders.ETAG);
+        headers.remove(HttpHeaders.LAST_MODIFIED);
+        headers.forEach((header, values) -> response.setHeader(header, values.get(0)));
+
+        if ((etag != null || lastModified >= 0) &&
+                new ServletWebRequest(request, response).checkNotModified(etag, lastModified))
+            return;
+
+        byte[] body = cached.getBody();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // gzip;q=0 refuses the coding, a wildcard only counts when gzip is not listed by name
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (coding.equals("gzip") || coding.equals("x-gzip"))
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            else if (coding.equals("*"))
+                wildcard = quality;
+        }
+
+        Double quality = gzip != null ? gzip : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        // the same resource is rendered as JSON, Smile or CBOR depending on the Accept header
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return Views.ForEvery.class.getSimpleName() + " " + (accept == null ? "*/*" : accept) + " " +
+                request.getRequestURI() + (query == null ? "" : "?" + query);
+    }
+
+    // large pages are streamed straight through instead of being buffered for the cache
+    private static long requestedElements(HttpServletRequest request) {
+        long elements = 0;
+        String count = request.getParameter("count");
+        if (count != null) {
+            try {
+                elements = Long.parseLong(count.trim());
+            } catch (NumberFormatException e) {
+                elements = Long.MAX_VALUE;
+            }
+        }
+
+        String[] ids = request.getParameterValues("ids");
+        if (ids != null)
+            for (String value : ids)
+                elements += value.split(",").length;
+
+        return elements;
+    }
+
+    private static Set<Class<?>> tagsOf(String path) {
+        Set<Class<?>> tags = new HashSet<>();
+        for (String segment : path.split("/")) {
+            Class<?> tag = TAGS.get(segment);
+            if (tag != null)
+                tags.add(tag);
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,23 @@
+package net.onlinelibrary.config;
+
+import net.onlinelibrary.monitoring.TrackingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+    @Bean
+    public static BeanPostProcessor trackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof TrackingDataSource))
+                    return new TrackingDataSource((DataSource) bean);
+                return bean;
+            }
+        };
+    }
+}
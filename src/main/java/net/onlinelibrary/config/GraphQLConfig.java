@@ -0,0 +1,53 @@
+package net.onlinelibrary.config;
+
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import net.onlinelibrary.graphql.CatalogRuntimeWiring;
+import net.onlinelibrary.graphql.QueryCostInstrumentation;
+import net.onlinelibrary.graphql.ViewInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@Configuration
+public class GraphQLConfig {
+    @Value("${graphql.max-depth}")
+    private int maxDepth;
+
+    @Value("${graphql.max-complexity}")
+    private long maxComplexity;
+
+    @Value("${graphql.max-list-size}")
+    private int maxListSize;
+
+    @Bean
+    public GraphQL graphQL(CatalogRuntimeWiring runtimeWiring) throws IOException {
+        String sdl;
+        try (InputStream schema = new ClassPathResource("graphql/schema.graphqls").getInputStream()) {
+            sdl = StreamUtils.copyToString(schema, StandardCharsets.UTF_8);
+        }
+
+        GraphQLSchema schema = new SchemaGenerator()
+                .makeExecutableSchema(new SchemaParser().parse(sdl), runtimeWiring.build());
+
+        return GraphQL.newGraphQL(schema)
+                .instrumentation(new ChainedInstrumentation(Arrays.asList(
+                        new MaxQueryDepthInstrumentation(maxDepth),
+                        new QueryCostInstrumentation(maxListSize, maxComplexity),
+                        new ViewInstrumentation(),
+                        new DataLoaderDispatcherInstrumentation())))
+                .build();
+    }
+}
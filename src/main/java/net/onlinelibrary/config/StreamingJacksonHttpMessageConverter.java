@@ -0,0 +1,72 @@
+package net.onlinelibrary.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class StreamingJacksonHttpMessageConverter extends TimedJacksonHttpMessageConverter {
+    private static final int FLUSH_INTERVAL = 100;
+
+    public StreamingJacksonHttpMessageConverter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            MediaType... supportedMediaTypes) {
+        super(objectMapper, meterRegistry, supportedMediaTypes);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return Stream.class.isAssignableFrom(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected void writeBody(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ObjectWriter writer = getObjectMapper().writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Object value = object;
+        if (object instanceof MappingJacksonValue) {
+            MappingJacksonValue jacksonValue = (MappingJacksonValue) object;
+            value = jacksonValue.getValue();
+            if (jacksonValue.getSerializationView() != null)
+                writer = writer.withView(jacksonValue.getSerializationView());
+            if (jacksonValue.getFilters() != null)
+                writer = writer.with(jacksonValue.getFilters());
+        }
+
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        JsonGenerator generator = getObjectMapper().getFactory()
+                .createGenerator(outputMessage.getBody(), getJsonEncoding(contentType));
+
+        // closing the stream releases whatever backs it, e.g. a repository cursor, also when the client goes away
+        try (Stream<?> elements = (Stream<?>) value) {
+            generator.writeStartArray();
+
+            long written = 0;
+            Iterator<?> iterator = elements.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++written % FLUSH_INTERVAL == 0)
+                    generator.flush();
+            }
+
+            generator.writeEndArray();
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.onlinelibrary.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// write-only, reads stay with the default Jackson converters
+public class TimedJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    private final MeterRegistry meterRegistry;
+
+    public TimedJacksonHttpMessageConverter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            MediaType... supportedMediaTypes) {
+        super(objectMapper, supportedMediaTypes);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    // includes the time spent writing to the client, which is what a slow reader costs the server
+    @Override
+    protected final void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            writeBody(object, type, outputMessage);
+        } finally {
+            MediaType contentType = outputMessage.getHeaders().getContentType();
+            sample.stop(Timer.builder("http.server.serialization")
+                    .tag("uri", currentUri())
+                    .tag("format", contentType == null ? "unknown" : contentType.getSubtype())
+                    .register(meterRegistry));
+        }
+    }
+
+    protected void writeBody(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        super.writeInternal(object, type, outputMessage);
+    }
+
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes == null
+                ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
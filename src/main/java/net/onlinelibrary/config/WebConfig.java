@@ -1,13 +1,40 @@
 package net.onlinelibrary.config;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.onlinelibrary.dto.BaseDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
+    @Value("${web.async.request-timeout}")
+    private long asyncRequestTimeout;
+
+    private final AsyncTaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public WebConfig(
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+            MeterRegistry meterRegistry) {
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry
@@ -16,4 +43,44 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // JSON, Smile and CBOR converters are registered by default when their Jackson modules are present
+        List<AbstractJackson2HttpMessageConverter> jacksonConverters = converters.stream()
+                .filter(converter -> converter instanceof AbstractJackson2HttpMessageConverter)
+                .map(converter -> (AbstractJackson2HttpMessageConverter) converter)
+                .collect(Collectors.toList());
+
+        for (AbstractJackson2HttpMessageConverter converter : jacksonConverters)
+            converter.getObjectMapper()
+                    .addMixIn(BaseDto.class, Fieldset.Filtered.class)
+                    .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+        if (jacksonConverters.isEmpty())
+            return;
+
+        // timed writers take the place of the default Jackson ones, which are left for reading,
+        // so the order against the String and ByteArray converters doesn't change
+        converters.addAll(converters.indexOf(jacksonConverters.get(0)), jacksonConverters.stream()
+                .map(converter -> new TimedJacksonHttpMessageConverter(
+                        converter.getObjectMapper(),
+                        meterRegistry,
+                        converter.getSupportedMediaTypes().toArray(new MediaType[0])))
+                .collect(Collectors.toList()));
+
+        converters.addAll(0, jacksonConverters.stream()
+                .map(converter -> new StreamingJacksonHttpMessageConverter(
+                        converter.getObjectMapper(),
+                        meterRegistry,
+                        converter.getSupportedMediaTypes().toArray(new MediaType[0])))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer
+                .setDefaultTimeout(asyncRequestTimeout)
+                .setTaskExecutor(taskExecutor);
+    }
 }
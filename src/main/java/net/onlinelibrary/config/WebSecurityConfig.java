@@ -1,5 +1,7 @@
 package net.onlinelibrary.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import net.onlinelibrary.security.TimedPasswordEncoder;
 import net.onlinelibrary.security.jwt.JwtConfigurer;
 import net.onlinelibrary.security.jwt.JwtTokenProvider;
 import org.springframework.context.annotation.Bean;
@@ -18,14 +20,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
 
-    public WebSecurityConfig(JwtTokenProvider jwtTokenProvider) {
+    public WebSecurityConfig(JwtTokenProvider jwtTokenProvider, MeterRegistry meterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
@@ -45,6 +49,6 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .anyRequest().permitAll()
                 .and()
-                .apply(new JwtConfigurer(jwtTokenProvider));
+                .apply(new JwtConfigurer(jwtTokenProvider, meterRegistry));
     }
 }
@@ -0,0 +1,25 @@
+package net.onlinelibrary.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.Data;
+import net.onlinelibrary.dto.view.Views;
+
+import java.util.List;
+
+@Data
+public class BookDetailsDto {
+    @JsonView(Views.ForEvery.class)
+    private BookDto book;
+
+    @JsonView(Views.ForEvery.class)
+    private List<AuthorDto> authors;
+
+    @JsonView(Views.ForEvery.class)
+    private List<GenreDto> genres;
+
+    @JsonView(Views.ForEvery.class)
+    private List<CommentDetailsDto> comments;
+
+    @JsonView(Views.ForEvery.class)
+    private Boolean hasMoreComments;
+}
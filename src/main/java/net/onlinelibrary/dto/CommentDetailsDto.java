@@ -0,0 +1,11 @@
+package net.onlinelibrary.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.Data;
+import net.onlinelibrary.dto.view.Views;
+
+@Data
+public class CommentDetailsDto extends CommentDto {
+    @JsonView(Views.ForEvery.class)
+    private String username;
+}
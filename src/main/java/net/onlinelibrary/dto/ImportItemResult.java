@@ -0,0 +1,25 @@
+package net.onlinelibrary.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportItemResult {
+    public enum Status {
+        SAVED, INVALID, FAILED, MALFORMED
+    }
+
+    private final long index;
+    private final Status status;
+    private final Long id;
+    private final String message;
+
+    public static ImportItemResult saved(long index, Long id) {
+        return new ImportItemResult(index, Status.SAVED, id, null);
+    }
+
+    public static ImportItemResult of(long index, Status status, String message) {
+        return new ImportItemResult(index, status, null, message);
+    }
+}
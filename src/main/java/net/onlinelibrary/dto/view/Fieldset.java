@@ -0,0 +1,81 @@
+package net.onlinelibrary.dto.view;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class Fieldset {
+    public static final String FILTER_ID = "fieldset";
+
+    private final Set<String> fields;
+
+    private Fieldset(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    // a field outside of the view is reported exactly like a missing one, so the parameter can't probe other views
+    public static Fieldset parse(String fields, Class<?> dtoClass, Class<?> view) {
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add("id");
+
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty())
+                continue;
+            if (!isVisible(dtoClass, name, view))
+                throw new IllegalArgumentException("unknown field " + name);
+            parsed.add(name);
+        }
+
+        return new Fieldset(parsed);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public FilterProvider toFilterProvider() {
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    public static Set<String> visibleOf(Class<?> dtoClass, Set<String> names, Class<?> view) {
+        Set<String> visible = new LinkedHashSet<>();
+        for (String name : names)
+            if (isVisible(dtoClass, name, view))
+                visible.add(name);
+        return visible;
+    }
+
+    public static boolean isVisible(Class<?> dtoClass, String name, Class<?> view) {
+        for (Class<?> type = dtoClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Field field;
+            try {
+                field = type.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+
+            // the nearest declaration wins, as with the redeclared dates of the catalog DTOs
+            JsonView jsonView = field.getAnnotation(JsonView.class);
+            if (jsonView == null)
+                return false;
+            for (Class<?> fieldView : jsonView.value())
+                if (fieldView.isAssignableFrom(view))
+                    return true;
+            return false;
+        }
+        return false;
+    }
+
+    // mixed into the DTOs of the web object mappers, which ignore the filter unless a request selects fields
+    @JsonFilter(FILTER_ID)
+    public interface Filtered {}
+}
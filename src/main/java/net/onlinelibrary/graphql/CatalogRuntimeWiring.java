@@ -0,0 +1,183 @@
+package net.onlinelibrary.graphql;
+
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.SelectedField;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.TypeRuntimeWiring;
+import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.BaseDto;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.CommentDto;
+import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.UserDto;
+import net.onlinelibrary.mapper.implementation.AuthorMapper;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.service.AuthorService;
+import net.onlinelibrary.service.BookService;
+import net.onlinelibrary.service.CommentService;
+import net.onlinelibrary.service.GenreService;
+import net.onlinelibrary.service.UserService;
+import net.onlinelibrary.util.NumberNormalizer;
+import org.dataloader.DataLoader;
+import org.springframework.stereotype.Component;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class CatalogRuntimeWiring {
+    private static final String DATE_PATTERN = "dd-MM-yyyy HH:mm:ss";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final GenreService genreService;
+    private final CommentService commentService;
+    private final UserService userService;
+
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final GenreMapper genreMapper;
+    private final CommentMapper commentMapper;
+    private final UserMapper userMapper;
+
+    public CatalogRuntimeWiring(
+            BookService bookService,
+            AuthorService authorService,
+            GenreService genreService,
+            CommentService commentService,
+            UserService userService,
+            BookMapper bookMapper,
+            AuthorMapper authorMapper,
+            GenreMapper genreMapper,
+            CommentMapper commentMapper,
+            UserMapper userMapper) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.genreService = genreService;
+        this.commentService = commentService;
+        this.userService = userService;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.genreMapper = genreMapper;
+        this.commentMapper = commentMapper;
+        this.userMapper = userMapper;
+    }
+
+    public RuntimeWiring build() {
+        return RuntimeWiring.newRuntimeWiring()
+                .scalar(Scalars.GraphQLLong)
+                .type(TypeRuntimeWiring.newTypeWiring("Query")
+                        .dataFetcher("books", env -> bookMapper.toDtos(
+                                bookService.getByRange(env.getArgument("offset"), env.getArgument("count")).getContent(),
+                                selectedFields(env)))
+                        .dataFetcher("booksByIds", byIds(GraphQLDataLoaders.BOOKS))
+                        .dataFetcher("book", byId(GraphQLDataLoaders.BOOKS))
+                        .dataFetcher("authors", env -> authorMapper.toDtos(
+                                authorService.getByRange(env.getArgument("offset"), env.getArgument("count")).getContent(),
+                                selectedFields(env)))
+                        .dataFetcher("authorsByIds", byIds(GraphQLDataLoaders.AUTHORS))
+                        .dataFetcher("author", byId(GraphQLDataLoaders.AUTHORS))
+                        .dataFetcher("genres", env -> genreMapper.toDtos(
+                                genreService.getByRange(env.getArgument("offset"), env.getArgument("count")).getContent(),
+                                selectedFields(env)))
+                        .dataFetcher("genresByIds", byIds(GraphQLDataLoaders.GENRES))
+                        .dataFetcher("genre", byId(GraphQLDataLoaders.GENRES))
+                        .dataFetcher("comments", env -> commentMapper.toDtos(
+                                commentService.getByRange(env.getArgument("offset"), env.getArgument("count")).getContent()))
+                        .dataFetcher("commentsByIds", byIds(GraphQLDataLoaders.COMMENTS))
+                        .dataFetcher("comment", byId(GraphQLDataLoaders.COMMENTS))
+                        .dataFetcher("users", env -> userMapper.toDtos(
+                                userService.getByRange(env.getArgument("offset"), env.getArgument("count")).getContent(),
+                                selectedFields(env)))
+                        .dataFetcher("usersByIds", byIds(GraphQLDataLoaders.USERS))
+                        .dataFetcher("user", byId(GraphQLDataLoaders.USERS)))
+                .type(dates("Book")
+                        .dataFetcher("authors", relations(GraphQLDataLoaders.AUTHORS, BookDto::getAuthors))
+                        .dataFetcher("genres", relations(GraphQLDataLoaders.GENRES, BookDto::getGenres))
+                        .dataFetcher("comments", relations(GraphQLDataLoaders.COMMENTS, BookDto::getComments)))
+                .type(dates("Author")
+                        .dataFetcher("books", relations(GraphQLDataLoaders.BOOKS, AuthorDto::getBooks))
+                        .dataFetcher("genres", relations(GraphQLDataLoaders.GENRES, AuthorDto::getGenres)))
+                .type(dates("Genre")
+                        .dataFetcher("bookCount", env -> ((GenreDto) env.getSource()).getBooks().size())
+                        .dataFetcher("books", relations(GraphQLDataLoaders.BOOKS, GenreDto::getBooks))
+                        .dataFetcher("authors", relations(GraphQLDataLoaders.AUTHORS, GenreDto::getAuthors)))
+                .type(dates("Comment")
+                        .dataFetcher("user", relation(GraphQLDataLoaders.USERS, CommentDto::getUser))
+                        .dataFetcher("book", relation(GraphQLDataLoaders.BOOKS, CommentDto::getBook)))
+                .type(dates("User")
+                        .dataFetcher("comments", relations(GraphQLDataLoaders.COMMENTS, UserDto::getComments)))
+                .build();
+    }
+
+    private static TypeRuntimeWiring.Builder dates(String typeName) {
+        return TypeRuntimeWiring.newTypeWiring(typeName)
+                .dataFetcher("createdDate", env -> format(((BaseDto) env.getSource()).getCreatedDate()))
+                .dataFetcher("lastModifiedDate", env -> format(((BaseDto) env.getSource()).getLastModifiedDate()));
+    }
+
+    private static DataFetcher<CompletableFuture<Object>> byId(String loaderName) {
+        return env -> loader(env, loaderName).load(Long.valueOf(env.<String>getArgument("id")));
+    }
+
+    private static DataFetcher<CompletableFuture<List<Object>>> byIds(String loaderName) {
+        return env -> loader(env, loaderName).loadMany(env.<List<String>>getArgument("ids").stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList()));
+    }
+
+    private static <D> DataFetcher<CompletableFuture<Object>> relation(String loaderName, Function<D, Long> id) {
+        return env -> {
+            Long relatedId = id.apply(env.getSource());
+            return relatedId == null
+                    ? CompletableFuture.completedFuture(null)
+                    : loader(env, loaderName).load(relatedId);
+        };
+    }
+
+    // related lists are paged like the root ones, so their cost is bounded by the requested count
+    private static <D> DataFetcher<CompletableFuture<List<Object>>> relations(String loaderName, Function<D, List<Long>> ids) {
+        return env -> {
+            List<Long> relatedIds = ids.apply(env.getSource());
+            int from = NumberNormalizer.normalize(env.getArgument("offset"), 0, relatedIds.size());
+            int to = (int) Math.min((long) from + Math.max(env.<Integer>getArgument("count"), 0), relatedIds.size());
+            return loader(env, loaderName).loadMany(relatedIds.subList(from, to));
+        };
+    }
+
+    // associations left out of the selection are not queried, bookCount is counted from the book ids
+    private static Set<String> selectedFields(DataFetchingEnvironment env) {
+        Set<String> fields = env.getSelectionSet().getFields("*").stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toSet());
+        if (fields.contains("bookCount"))
+            fields.add("books");
+        return fields;
+    }
+
+    private static DataLoader<Long, Object> loader(DataFetchingEnvironment env, String loaderName) {
+        return env.getDataLoader(loaderName);
+    }
+
+    // the same pattern and zone as the @JsonFormat dates rendered by Jackson for REST
+    private static String format(Date date) {
+        if (date == null)
+            return null;
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
+        dateFormat.setTimeZone(UTC);
+        return dateFormat.format(date);
+    }
+}
@@ -0,0 +1,87 @@
+package net.onlinelibrary.graphql;
+
+import net.onlinelibrary.dto.BaseDto;
+import net.onlinelibrary.mapper.implementation.AuthorMapper;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.service.AuthorService;
+import net.onlinelibrary.service.BookService;
+import net.onlinelibrary.service.CommentService;
+import net.onlinelibrary.service.GenreService;
+import net.onlinelibrary.service.UserService;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class GraphQLDataLoaders {
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    public static final String GENRES = "genres";
+    public static final String COMMENTS = "comments";
+    public static final String USERS = "users";
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final GenreService genreService;
+    private final CommentService commentService;
+    private final UserService userService;
+
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final GenreMapper genreMapper;
+    private final CommentMapper commentMapper;
+    private final UserMapper userMapper;
+
+    public GraphQLDataLoaders(
+            BookService bookService,
+            AuthorService authorService,
+            GenreService genreService,
+            CommentService commentService,
+            UserService userService,
+            BookMapper bookMapper,
+            AuthorMapper authorMapper,
+            GenreMapper genreMapper,
+            CommentMapper commentMapper,
+            UserMapper userMapper) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.genreService = genreService;
+        this.commentService = commentService;
+        this.userService = userService;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.genreMapper = genreMapper;
+        this.commentMapper = commentMapper;
+        this.userMapper = userMapper;
+    }
+
+    // loaders cache per registry, so every request gets a fresh one
+    public DataLoaderRegistry newRegistry() {
+        return new DataLoaderRegistry()
+                .register(BOOKS, loader(ids -> bookMapper.toDtos(bookService.getByIds(ids))))
+                .register(AUTHORS, loader(ids -> authorMapper.toDtos(authorService.getByIds(ids))))
+                .register(GENRES, loader(ids -> genreMapper.toDtos(genreService.getByIds(ids))))
+                .register(COMMENTS, loader(ids -> commentMapper.toDtos(commentService.getByIds(ids))))
+                .register(USERS, loader(ids -> userMapper.toDtos(userService.getByIds(ids))));
+    }
+
+    // one batch per entity type and query level, results are handed back in the order of the requested ids
+    private static <D extends BaseDto> DataLoader<Long, D> loader(Function<List<Long>, List<D>> load) {
+        return DataLoader.newDataLoader(ids -> {
+            Map<Long, D> dtosById = load.apply(ids).stream()
+                    .collect(Collectors.toMap(BaseDto::getId, Function.identity()));
+            return CompletableFuture.completedFuture(ids.stream()
+                    .map(dtosById::get)
+                    .collect(Collectors.toList()));
+        });
+    }
+}
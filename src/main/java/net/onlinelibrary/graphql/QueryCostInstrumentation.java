@@ -0,0 +1,97 @@
+package net.onlinelibrary.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// a list field costs its children once per element it may return, that is its count or the number of requested ids,
+// the arithmetic saturates so a huge count can't wrap around below the limit
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+    private final int maxListSize;
+    private final long maxCost;
+
+    public QueryCostInstrumentation(int maxListSize, long maxCost) {
+        this.maxListSize = maxListSize;
+        this.maxCost = maxCost;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+
+        List<GraphQLError> errors = new ArrayList<>();
+        Map<QueryVisitorFieldEnvironment, Long> childCosts = new HashMap<>();
+        long[] cost = {0};
+
+        QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .variables(executionContext.getVariables())
+                .build()
+                .visitPostOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(QueryVisitorFieldEnvironment environment) {
+                        long elements = elementsOf(environment.getArguments());
+                        if (elements > maxListSize)
+                            errors.add(GraphqlErrorBuilder.newError()
+                                    .message("Field '" + environment.getField().getName() + "' requests " + elements +
+                                            " elements, at most " + maxListSize + " are allowed")
+                                    .location(environment.getField().getSourceLocation())
+                                    .build());
+
+                        long fieldCost = multiply(elements, add(1, childCosts.getOrDefault(environment, 0L)));
+
+                        QueryVisitorFieldEnvironment parent = environment.getParentEnvironment();
+                        if (parent == null)
+                            cost[0] = add(cost[0], fieldCost);
+                        else
+                            childCosts.merge(parent, fieldCost, QueryCostInstrumentation::add);
+                    }
+                });
+
+        if (cost[0] > maxCost)
+            errors.add(GraphqlErrorBuilder.newError()
+                    .message("Query cost " + cost[0] + " exceeds the maximum of " + maxCost)
+                    .build());
+
+        if (!errors.isEmpty())
+            throw new AbortExecutionException(errors);
+
+        return super.beginExecuteOperation(parameters);
+    }
+
+    private static long elementsOf(Map<String, Object> arguments) {
+        Object count = arguments.get("count");
+        Object ids = arguments.get("ids");
+
+        if (count instanceof Integer)
+            return Math.max((Integer) count, 1);
+        if (ids instanceof List)
+            return Math.max(((List<?>) ids).size(), 1);
+        return 1;
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+}
@@ -0,0 +1,121 @@
+package net.onlinelibrary.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.CommentDto;
+import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.UserDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.dto.view.Views;
+import net.onlinelibrary.model.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.*;
+
+// scalar fields are checked against the @JsonView of the DTO property with the same name,
+// relations follow the REST endpoints that expose them
+public class ViewInstrumentation extends SimpleInstrumentation {
+    public static final String VIEW = "view";
+
+    private static final Map<String, Class<?>> DTO_CLASSES = new HashMap<>();
+    private static final Map<String, Class<?>> RELATION_VIEWS = new HashMap<>();
+    private static final Map<Role, Class<?>> ROLE_VIEWS = new EnumMap<>(Role.class);
+
+    static {
+        DTO_CLASSES.put("Book", BookDto.class);
+        DTO_CLASSES.put("Author", AuthorDto.class);
+        DTO_CLASSES.put("Genre", GenreDto.class);
+        DTO_CLASSES.put("Comment", CommentDto.class);
+        DTO_CLASSES.put("User", UserDto.class);
+
+        RELATION_VIEWS.put("Book.authors", Views.ForEvery.class);
+        RELATION_VIEWS.put("Book.genres", Views.ForEvery.class);
+        RELATION_VIEWS.put("Book.comments", Views.ForEvery.class);
+        RELATION_VIEWS.put("Author.books", Views.ForEvery.class);
+        RELATION_VIEWS.put("Author.genres", Views.ForEvery.class);
+        RELATION_VIEWS.put("Genre.bookCount", Views.ForEvery.class);
+        RELATION_VIEWS.put("Genre.books", Views.ForEvery.class);
+        RELATION_VIEWS.put("Genre.authors", Views.ForEvery.class);
+        RELATION_VIEWS.put("Comment.user", Views.ForEvery.class);
+        RELATION_VIEWS.put("Comment.book", Views.ForEvery.class);
+        RELATION_VIEWS.put("User.comments", Views.ForEvery.class);
+
+        ROLE_VIEWS.put(Role.USER, Views.ForUser.class);
+        ROLE_VIEWS.put(Role.MODERATOR, Views.ForModerator.class);
+        ROLE_VIEWS.put(Role.ADMIN, Views.ForAdmin.class);
+        ROLE_VIEWS.put(Role.SUPER_ADMIN, Views.ForSuperAdmin.class);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        GraphQLContext context = executionContext.getContext();
+        Class<?> view = context.getOrDefault(VIEW, Views.ForEvery.class);
+
+        List<GraphQLError> errors = new ArrayList<>();
+        QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .variables(executionContext.getVariables())
+                .build()
+                .visitPreOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(QueryVisitorFieldEnvironment environment) {
+                        String typeName = environment.getFieldsContainer().getName();
+                        String fieldName = environment.getFieldDefinition().getName();
+
+                        // reported like an unknown field, so a query can't probe what other roles see
+                        if (!isVisible(typeName, fieldName, view))
+                            errors.add(GraphqlErrorBuilder.newError()
+                                    .message("Field '" + fieldName + "' in type '" + typeName + "' is undefined")
+                                    .location(environment.getField().getSourceLocation())
+                                    .build());
+                    }
+                });
+
+        if (!errors.isEmpty())
+            throw new AbortExecutionException(errors);
+
+        return super.beginExecuteOperation(parameters);
+    }
+
+    public static Class<?> viewOf(Authentication authentication) {
+        if (authentication == null)
+            return Views.ForEvery.class;
+
+        Class<?> view = Views.ForEvery.class;
+        for (GrantedAuthority authority : authentication.getAuthorities())
+            for (Map.Entry<Role, Class<?>> roleView : ROLE_VIEWS.entrySet())
+                if (roleView.getKey().name().equals(authority.getAuthority()) &&
+                        view.isAssignableFrom(roleView.getValue()))
+                    view = roleView.getValue();
+        return view;
+    }
+
+    private static boolean isVisible(String typeName, String fieldName, Class<?> view) {
+        if (fieldName.startsWith("__") || "Query".equals(typeName))
+            return true;
+
+        Class<?> relationView = RELATION_VIEWS.get(typeName + "." + fieldName);
+        if (relationView != null)
+            return relationView.isAssignableFrom(view);
+
+        Class<?> dtoClass = DTO_CLASSES.get(typeName);
+        return dtoClass != null && Fieldset.isVisible(dtoClass, fieldName, view);
+    }
+}
@@ -0,0 +1,43 @@
+package net.onlinelibrary.mapper;
+
+import net.onlinelibrary.model.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class AssociationIds {
+    // Postgres binds at most 32767 parameters per statement, longer id lists are queried in chunks
+    public static final int CHUNK_SIZE = 1000;
+
+    private final Map<Long, List<Long>> idsByOwner = new HashMap<>();
+
+    private AssociationIds(List<Object[]> ownerAndAssociatedIds) {
+        for (Object[] pair : ownerAndAssociatedIds)
+            idsByOwner
+                    .computeIfAbsent((Long) pair[0], ownerId -> new ArrayList<>())
+                    .add((Long) pair[1]);
+    }
+
+    public static AssociationIds of(List<Long> ownerIds, Function<List<Long>, List<Object[]>> ownerAndAssociatedIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int from = 0; from < ownerIds.size(); from += CHUNK_SIZE)
+            rows.addAll(ownerAndAssociatedIds.apply(ownerIds.subList(from, Math.min(from + CHUNK_SIZE, ownerIds.size()))));
+        return new AssociationIds(rows);
+    }
+
+    public static AssociationIds none() {
+        return new AssociationIds(new ArrayList<>());
+    }
+
+    public static List<Long> idsOf(List<? extends BaseEntity> entities) {
+        return entities.stream().map(entity -> entity.getId()).collect(Collectors.toList());
+    }
+
+    public List<Long> get(Long ownerId) {
+        return idsByOwner.getOrDefault(ownerId, new ArrayList<>());
+    }
+}
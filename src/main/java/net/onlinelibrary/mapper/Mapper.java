@@ -1,6 +1,33 @@
 package net.onlinelibrary.mapper;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public interface Mapper<TEntity, TDto> {
     TEntity toEntity(TDto dto);
     TDto toDto(TEntity entity);
+
+    default List<TEntity> toEntities(List<TDto> dtos) {
+        return dtos.stream().map(dto -> toEntity(dto)).collect(Collectors.toList());
+    }
+
+    default List<TDto> toDtos(List<TEntity> entities) {
+        return entities.stream().map(entity -> toDto(entity)).collect(Collectors.toList());
+    }
+
+    // only the associations named in fields have to be resolved
+    default List<TDto> toDtos(List<TEntity> entities, Set<String> fields) {
+        return toDtos(entities);
+    }
+
+    // only the associations the view serializes have to be resolved
+    default List<TDto> toDtos(List<TEntity> entities, Class<?> view) {
+        return toDtos(entities);
+    }
+
+    default TDto toDto(TEntity entity, Class<?> view) {
+        return toDtos(Collections.singletonList(entity), view).get(0);
+    }
 }
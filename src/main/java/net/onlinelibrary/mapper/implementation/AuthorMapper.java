@@ -1,25 +1,33 @@
 package net.onlinelibrary.mapper.implementation;
 
 import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.mapper.AssociationIds;
 import net.onlinelibrary.mapper.Mapper;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
-import net.onlinelibrary.repository.BookRepository;
-import net.onlinelibrary.repository.GenreRepository;
+import net.onlinelibrary.repository.AuthorRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Component
 public class AuthorMapper implements Mapper<Author, AuthorDto> {
-    private final BookRepository bookRepo;
-    private final GenreRepository genreRepo;
+    private static final Set<String> ASSOCIATIONS = new HashSet<>(Arrays.asList("books", "genres"));
 
-    public AuthorMapper(BookRepository bookRepo, GenreRepository genreRepo) {
-        this.bookRepo = bookRepo;
-        this.genreRepo = genreRepo;
+    private final AuthorRepository authorRepo;
+    private final EntityMultiLoader entityLoader;
+
+    public AuthorMapper(AuthorRepository authorRepo, EntityMultiLoader entityLoader) {
+        this.authorRepo = authorRepo;
+        this.entityLoader = entityLoader;
     }
 
     @Override
@@ -36,34 +44,61 @@ public class AuthorMapper implements Mapper<Author, AuthorDto> {
 
         author.setBooks(authorDto.getBooks() == null
                 ? null
-                : bookRepo.findAllById(authorDto.getBooks()));
+                : entityLoader.findAllById(Book.class, authorDto.getBooks()));
 
         author.setGenres(authorDto.getGenres() == null
                 ? null
-                : genreRepo.findAllById(authorDto.getGenres()));
+                : entityLoader.findAllById(Genre.class, authorDto.getGenres()));
 
         return author;
     }
 
     @Override
     public AuthorDto toDto(Author author) {
-        AuthorDto dto = new AuthorDto();
+        return toDtos(Collections.singletonList(author)).get(0);
+    }
+
+    @Override
+    public List<AuthorDto> toDtos(List<Author> authors) {
+        return toDtos(authors, ASSOCIATIONS);
+    }
+
+    @Override
+    public List<AuthorDto> toDtos(List<Author> authors, Class<?> view) {
+        return toDtos(authors, Fieldset.visibleOf(AuthorDto.class, ASSOCIATIONS, view));
+    }
+
+    @Override
+    public List<AuthorDto> toDtos(List<Author> authors, Set<String> fields) {
+        if (authors.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> authorIds = AssociationIds.idsOf(authors);
+        AssociationIds bookIds = fields.contains("books")
+                ? AssociationIds.of(authorIds, authorRepo::findBookIdsOfAuthors)
+                : AssociationIds.none();
+        AssociationIds genreIds = fields.contains("genres")
+                ? AssociationIds.of(authorIds, authorRepo::findGenreIdsOfAuthors)
+                : AssociationIds.none();
+
+        List<AuthorDto> dtos = new ArrayList<>();
+        for (Author author : authors) {
+            AuthorDto dto = new AuthorDto();
+
+            dto.setId(author.getId());
+            dto.setCreatedDate(author.getCreatedDate());
+            dto.setLastModifiedDate(author.getLastModifiedDate());
 
-        dto.setId(author.getId());
-        dto.setCreatedDate(author.getCreatedDate());
-        dto.setLastModifiedDate(author.getLastModifiedDate());
+            dto.setFirstName(author.getFirstName());
+            dto.setMiddleName(author.getMiddleName());
+            dto.setLastName(author.getLastName());
 
-        dto.setFirstName(author.getFirstName());
-        dto.setMiddleName(author.getMiddleName());
-        dto.setLastName(author.getLastName());
+            dto.setBooks(bookIds.get(author.getId()));
+            dto.setGenres(genreIds.get(author.getId()));
 
-        List<Book> books = author.getBooks();
-        List<Genre> genres = author.getGenres();
-        if (books != null)
-            dto.setBooks(books.stream().map(book -> book.getId()).collect(Collectors.toList()));
-        if (genres != null)
-            dto.setGenres(genres.stream().map(genre -> genre.getId()).collect(Collectors.toList()));
+            dtos.add(dto);
+        }
 
-        return dto;
+        return dtos;
     }
 }
@@ -1,29 +1,35 @@
 package net.onlinelibrary.mapper.implementation;
 
 import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.mapper.AssociationIds;
 import net.onlinelibrary.mapper.Mapper;
 import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.BaseEntity;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Genre;
-import net.onlinelibrary.repository.AuthorRepository;
+import net.onlinelibrary.repository.BookRepository;
 import net.onlinelibrary.repository.CommentRepository;
-import net.onlinelibrary.repository.GenreRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class BookMapper implements Mapper<Book, BookDto> {
-    private final AuthorRepository authorRepo;
+    private static final Set<String> ASSOCIATIONS = new HashSet<>(Arrays.asList("authors", "genres", "comments"));
+
+    private final BookRepository bookRepo;
     private final CommentRepository commentRepo;
-    private final GenreRepository genreRepo;
+    private final EntityMultiLoader entityLoader;
 
-    public BookMapper(AuthorRepository authorRepo, CommentRepository commentRepo, GenreRepository genreRepo) {
-        this.authorRepo = authorRepo;
+    public BookMapper(BookRepository bookRepo, CommentRepository commentRepo, EntityMultiLoader entityLoader) {
+        this.bookRepo = bookRepo;
         this.commentRepo = commentRepo;
-        this.genreRepo = genreRepo;
+        this.entityLoader = entityLoader;
     }
 
     @Override
@@ -43,11 +49,11 @@ public class BookMapper implements Mapper<Book, BookDto> {
 
         book.setAuthors(bookDto.getAuthors() == null
                 ? null
-                : authorRepo.findAllById(bookDto.getAuthors()));
+                : entityLoader.findAllById(Author.class, bookDto.getAuthors()));
 
         book.setGenres(bookDto.getGenres() == null
                 ? null
-                : genreRepo.findAllById(bookDto.getGenres()));
+                : entityLoader.findAllById(Genre.class, bookDto.getGenres()));
 
         book.setComments(bookDto.getComments() == null
                 ? null
@@ -56,31 +62,108 @@ public class BookMapper implements Mapper<Book, BookDto> {
         return book;
     }
 
+    @Override
+    public List<Book> toEntities(List<BookDto> bookDtos) {
+        Map<Long, Author> authors = byId(entityLoader.findAllById(Author.class, idsOf(bookDtos, BookDto::getAuthors)));
+        Map<Long, Genre> genres = byId(entityLoader.findAllById(Genre.class, idsOf(bookDtos, BookDto::getGenres)));
+        Map<Long, Comment> comments = byId(commentRepo.findAllById(idsOf(bookDtos, BookDto::getComments)));
+
+        List<Book> books = new ArrayList<>();
+        for (BookDto bookDto : bookDtos) {
+            Book book = new Book();
+
+            book.setId(bookDto.getId());
+            book.setCreatedDate(bookDto.getCreatedDate());
+            book.setLastModifiedDate(bookDto.getLastModifiedDate());
+
+            book.setAvatar(bookDto.getAvatar());
+            book.setName(bookDto.getName());
+            book.setPagesCount(bookDto.getPagesCount());
+            book.setPublicationYear(bookDto.getPublicationYear());
+            book.setRating(bookDto.getRating());
+            book.setShortDescription(bookDto.getShortDescription());
+
+            book.setAuthors(pick(authors, bookDto.getAuthors()));
+            book.setGenres(pick(genres, bookDto.getGenres()));
+            book.setComments(pick(comments, bookDto.getComments()));
+
+            books.add(book);
+        }
+
+        return books;
+    }
+
     @Override
     public BookDto toDto(Book book) {
-        BookDto dto = new BookDto();
-
-        dto.setId(book.getId());
-        dto.setCreatedDate(book.getCreatedDate());
-        dto.setLastModifiedDate(book.getLastModifiedDate());
-
-        dto.setAvatar(book.getAvatar());
-        dto.setName(book.getName());
-        dto.setPagesCount(book.getPagesCount());
-        dto.setPublicationYear(book.getPublicationYear());
-        dto.setRating(book.getRating());
-        dto.setShortDescription(book.getShortDescription());
-
-        List<Author> authors = book.getAuthors();
-        List<Genre> genres = book.getGenres();
-        List<Comment> comments = book.getComments();
-        if (authors != null)
-            dto.setAuthors(authors.stream().map(author -> author.getId()).collect(Collectors.toList()));
-        if (genres != null)
-            dto.setGenres(genres.stream().map(genre -> genre.getId()).collect(Collectors.toList()));
-        if (comments != null)
-            dto.setComments(comments.stream().map(comment -> comment.getId()).collect(Collectors.toList()));
-
-        return dto;
+        return toDtos(Collections.singletonList(book)).get(0);
+    }
+
+    @Override
+    public List<BookDto> toDtos(List<Book> books) {
+        return toDtos(books, ASSOCIATIONS);
+    }
+
+    @Override
+    public List<BookDto> toDtos(List<Book> books, Class<?> view) {
+        return toDtos(books, Fieldset.visibleOf(BookDto.class, ASSOCIATIONS, view));
+    }
+
+    @Override
+    public List<BookDto> toDtos(List<Book> books, Set<String> fields) {
+        if (books.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> bookIds = AssociationIds.idsOf(books);
+        AssociationIds authorIds = fields.contains("authors")
+                ? AssociationIds.of(bookIds, bookRepo::findAuthorIdsOfBooks)
+                : AssociationIds.none();
+        AssociationIds genreIds = fields.contains("genres")
+                ? AssociationIds.of(bookIds, bookRepo::findGenreIdsOfBooks)
+                : AssociationIds.none();
+        AssociationIds commentIds = fields.contains("comments")
+                ? AssociationIds.of(bookIds, commentRepo::findCommentIdsOfBooks)
+                : AssociationIds.none();
+
+        List<BookDto> dtos = new ArrayList<>();
+        for (Book book : books) {
+            BookDto dto = new BookDto();
+
+            dto.setId(book.getId());
+            dto.setCreatedDate(book.getCreatedDate());
+            dto.setLastModifiedDate(book.getLastModifiedDate());
+
+            dto.setAvatar(book.getAvatar());
+            dto.setName(book.getName());
+            dto.setPagesCount(book.getPagesCount());
+            dto.setPublicationYear(book.getPublicationYear());
+            dto.setRating(book.getRating());
+            dto.setShortDescription(book.getShortDescription());
+
+            dto.setAuthors(authorIds.get(book.getId()));
+            dto.setGenres(genreIds.get(book.getId()));
+            dto.setComments(commentIds.get(book.getId()));
+
+            dtos.add(dto);
+        }
+
+        return dtos;
+    }
+
+    private static Set<Long> idsOf(List<BookDto> bookDtos, Function<BookDto, List<Long>> ids) {
+        return bookDtos.stream()
+                .map(ids)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+    }
+
+    private static <E extends BaseEntity> Map<Long, E> byId(List<E> entities) {
+        return entities.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
+    }
+
+    private static <E> List<E> pick(Map<Long, E> entities, List<Long> ids) {
+        return ids == null
+                ? null
+                : ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 }
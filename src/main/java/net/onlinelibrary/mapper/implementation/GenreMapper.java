@@ -1,25 +1,33 @@
 package net.onlinelibrary.mapper.implementation;
 
 import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.mapper.AssociationIds;
 import net.onlinelibrary.mapper.Mapper;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
-import net.onlinelibrary.repository.AuthorRepository;
-import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
+import net.onlinelibrary.repository.GenreRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Component
 public class GenreMapper implements Mapper<Genre, GenreDto> {
-    private final BookRepository bookRepo;
-    private final AuthorRepository authorRepo;
+    private static final Set<String> ASSOCIATIONS = new HashSet<>(Arrays.asList("books", "authors"));
 
-    public GenreMapper(BookRepository bookRepo, AuthorRepository authorRepo) {
-        this.bookRepo = bookRepo;
-        this.authorRepo = authorRepo;
+    private final GenreRepository genreRepo;
+    private final EntityMultiLoader entityLoader;
+
+    public GenreMapper(GenreRepository genreRepo, EntityMultiLoader entityLoader) {
+        this.genreRepo = genreRepo;
+        this.entityLoader = entityLoader;
     }
 
     @Override
@@ -34,32 +42,59 @@ public class GenreMapper implements Mapper<Genre, GenreDto> {
 
         genre.setBooks(genreDto.getBooks() == null
                 ? null
-                : bookRepo.findAllById(genreDto.getBooks()));
+                : entityLoader.findAllById(Book.class, genreDto.getBooks()));
 
         genre.setAuthors(genreDto.getAuthors() == null
                 ? null
-                : authorRepo.findAllById(genreDto.getAuthors()));
+                : entityLoader.findAllById(Author.class, genreDto.getAuthors()));
 
         return genre;
     }
 
     @Override
     public GenreDto toDto(Genre genre) {
-        GenreDto dto = new GenreDto();
+        return toDtos(Collections.singletonList(genre)).get(0);
+    }
+
+    @Override
+    public List<GenreDto> toDtos(List<Genre> genres) {
+        return toDtos(genres, ASSOCIATIONS);
+    }
+
+    @Override
+    public List<GenreDto> toDtos(List<Genre> genres, Class<?> view) {
+        return toDtos(genres, Fieldset.visibleOf(GenreDto.class, ASSOCIATIONS, view));
+    }
+
+    @Override
+    public List<GenreDto> toDtos(List<Genre> genres, Set<String> fields) {
+        if (genres.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> genreIds = AssociationIds.idsOf(genres);
+        AssociationIds bookIds = fields.contains("books")
+                ? AssociationIds.of(genreIds, genreRepo::findBookIdsOfGenres)
+                : AssociationIds.none();
+        AssociationIds authorIds = fields.contains("authors")
+                ? AssociationIds.of(genreIds, genreRepo::findAuthorIdsOfGenres)
+                : AssociationIds.none();
+
+        List<GenreDto> dtos = new ArrayList<>();
+        for (Genre genre : genres) {
+            GenreDto dto = new GenreDto();
+
+            dto.setId(genre.getId());
+            dto.setCreatedDate(genre.getCreatedDate());
+            dto.setLastModifiedDate(genre.getLastModifiedDate());
 
-        dto.setId(genre.getId());
-        dto.setCreatedDate(genre.getCreatedDate());
-        dto.setLastModifiedDate(genre.getLastModifiedDate());
+            dto.setGenre(genre.getGenre());
 
-        dto.setGenre(genre.getGenre());
+            dto.setBooks(bookIds.get(genre.getId()));
+            dto.setAuthors(authorIds.get(genre.getId()));
 
-        List<Book> books = genre.getBooks();
-        List<Author> authors = genre.getAuthors();
-        if (books != null)
-            dto.setBooks(books.stream().map(book -> book.getId()).collect(Collectors.toList()));
-        if (authors != null)
-            dto.setAuthors(authors.stream().map(author -> author.getId()).collect(Collectors.toList()));
+            dtos.add(dto);
+        }
 
-        return dto;
+        return dtos;
     }
 }
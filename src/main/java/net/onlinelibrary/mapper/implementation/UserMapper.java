@@ -1,20 +1,25 @@
 package net.onlinelibrary.mapper.implementation;
 
 import net.onlinelibrary.dto.UserDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.mapper.AssociationIds;
 import net.onlinelibrary.mapper.Mapper;
-import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Role;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.repository.CommentRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class UserMapper implements Mapper<User, UserDto> {
+    private static final Set<String> ASSOCIATIONS = Collections.singleton("comments");
+
     private final CommentRepository commentRepo;
 
     public UserMapper(CommentRepository commentRepo) {
@@ -51,24 +56,51 @@ public class UserMapper implements Mapper<User, UserDto> {
 
     @Override
     public UserDto toDto(User user) {
-        UserDto dto = new UserDto();
+        return toDtos(Collections.singletonList(user)).get(0);
+    }
+
+    @Override
+    public List<UserDto> toDtos(List<User> users) {
+        return toDtos(users, ASSOCIATIONS);
+    }
+
+    @Override
+    public List<UserDto> toDtos(List<User> users, Class<?> view) {
+        return toDtos(users, Fieldset.visibleOf(UserDto.class, ASSOCIATIONS, view));
+    }
+
+    @Override
+    public List<UserDto> toDtos(List<User> users, Set<String> fields) {
+        if (users.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> userIds = AssociationIds.idsOf(users);
+        AssociationIds commentIds = fields.contains("comments")
+                ? AssociationIds.of(userIds, commentRepo::findCommentIdsOfUsers)
+                : AssociationIds.none();
+
+        List<UserDto> dtos = new ArrayList<>();
+        for (User user : users) {
+            UserDto dto = new UserDto();
+
+            dto.setId(user.getId());
+            dto.setCreatedDate(user.getCreatedDate());
+            dto.setLastModifiedDate(user.getLastModifiedDate());
+
+            dto.setActive(user.getActive());
+            dto.setEmail(user.getEmail());
+            dto.setPassword(user.getPassword());
+            dto.setUsername(user.getUsername());
 
-        dto.setId(user.getId());
-        dto.setCreatedDate(user.getCreatedDate());
-        dto.setLastModifiedDate(user.getLastModifiedDate());
+            Set<Role> roles = user.getRoles();
+            if (roles != null)
+                dto.setRoles(roles.stream().map(role -> role.name()).collect(Collectors.toSet()));
 
-        dto.setActive(user.getActive());
-        dto.setEmail(user.getEmail());
-        dto.setPassword(user.getPassword());
-        dto.setUsername(user.getUsername());
+            dto.setComments(commentIds.get(user.getId()));
 
-        Set<Role> roles = user.getRoles();
-        List<Comment> comments = user.getComments();
-        if (roles != null)
-            dto.setRoles(roles.stream().map(role -> role.name()).collect(Collectors.toSet()));
-        if (comments != null)
-            dto.setComments(comments.stream().map(comment -> comment.getId()).collect(Collectors.toList()));
+            dtos.add(dto);
+        }
 
-        return dto;
+        return dtos;
     }
 }
@@ -1,14 +1,18 @@
 package net.onlinelibrary.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = @Index(name = "authors_created_date_id_idx", columnList = "created_date, id"))
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
 public class Author extends BaseEntity {
     @Column(name = "last_name")
     private String lastName;
@@ -20,9 +24,11 @@ public class Author extends BaseEntity {
     private String middleName;
 
     @ManyToMany(cascade = CascadeType.ALL, mappedBy = "authors", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author_books")
     private List<Book> books;
 
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author_genres")
     private List<Genre> genres;
 
     public static Author getEmpty() {
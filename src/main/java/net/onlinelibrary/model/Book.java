@@ -1,13 +1,17 @@
 package net.onlinelibrary.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "books_created_date_id_idx", columnList = "created_date, id"))
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 public class Book extends BaseEntity {
     @Column(name = "name")
     private String name;
@@ -28,9 +32,11 @@ public class Book extends BaseEntity {
     private Long rating;
 
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book_authors")
     private List<Author> authors;
 
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book_genres")
     private List<Genre> genres;
 
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -5,7 +5,9 @@ import lombok.Data;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "comments_created_date_id_idx", columnList = "created_date, id"),
+        @Index(name = "comments_book_id_created_date_id_idx", columnList = "book_id, created_date, id")})
 @Data
 public class Comment extends BaseEntity {
     @Column(name = "text", length = 500)
@@ -14,11 +16,11 @@ public class Comment extends BaseEntity {
     @Column(name = "rating")
     private Long rating;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;
 }
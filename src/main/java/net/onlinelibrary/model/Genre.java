@@ -1,6 +1,8 @@
 package net.onlinelibrary.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -9,14 +11,18 @@ import java.util.List;
 @Entity
 @Table(name = "genres")
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "genres")
 public class Genre extends BaseEntity {
     @Column(name = "genre", unique = true)
     private String genre;
 
     @ManyToMany(cascade = CascadeType.ALL, mappedBy = "genres", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "genre_books")
     private List<Book> books;
 
     @ManyToMany(cascade = CascadeType.ALL, mappedBy = "genres", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "genre_authors")
     private List<Author> authors;
 
     public static Genre getEmpty() {
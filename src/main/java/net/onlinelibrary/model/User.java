@@ -1,13 +1,14 @@
 package net.onlinelibrary.model;
 
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "usr")
+@Table(name = "usr", indexes = @Index(name = "usr_created_date_id_idx", columnList = "created_date, id"))
 @Data
 public class User extends BaseEntity {
     @Column(name = "username", unique = true, nullable = false)
@@ -23,6 +24,7 @@ public class User extends BaseEntity {
     private Boolean active;
 
     @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @CollectionTable(name = "user_role", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     private Set<Role> roles;
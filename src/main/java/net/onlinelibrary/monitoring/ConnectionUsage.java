@@ -0,0 +1,37 @@
+package net.onlinelibrary.monitoring;
+
+public final class ConnectionUsage {
+    private static final ThreadLocal<ConnectionUsage> CURRENT = new ThreadLocal<>();
+
+    private int acquisitions;
+    private long heldNanos;
+
+    private ConnectionUsage() {
+    }
+
+    public static ConnectionUsage start() {
+        ConnectionUsage usage = new ConnectionUsage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void recordHeld(long nanos) {
+        ConnectionUsage usage = CURRENT.get();
+        if (usage != null) {
+            usage.acquisitions++;
+            usage.heldNanos += nanos;
+        }
+    }
+
+    public int getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getHeldNanos() {
+        return heldNanos;
+    }
+}
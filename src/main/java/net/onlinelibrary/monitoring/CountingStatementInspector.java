@@ -0,0 +1,12 @@
+package net.onlinelibrary.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// instantiated by Hibernate from hibernate.session_factory.statement_inspector, one call per prepared statement
+public class CountingStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        StatementCount.record();
+        return sql;
+    }
+}
@@ -0,0 +1,59 @@
+package net.onlinelibrary.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+public class MethodTimingAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * net.onlinelibrary.service.implementation.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service.method.latency", "service",
+                joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) && this(repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint, Object repository) throws Throwable {
+        return time("repository.method.latency", "repository",
+                repositoryNames.computeIfAbsent(repository.getClass(), MethodTimingAspect::repositoryNameOf), joinPoint);
+    }
+
+    private Object time(String metric, String ownerTag, String owner, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metric)
+                    .tag(ownerTag, owner)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    // inherited methods such as findById are declared on CrudRepository, the proxy still implements our interface
+    private static String repositoryNameOf(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces())
+            if (type.getName().startsWith("net.onlinelibrary."))
+                return type.getSimpleName();
+        return proxyClass.getSimpleName();
+    }
+}
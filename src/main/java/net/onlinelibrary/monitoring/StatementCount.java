@@ -0,0 +1,40 @@
+package net.onlinelibrary.monitoring;
+
+public final class StatementCount {
+    private static final ThreadLocal<StatementCount> CURRENT = new ThreadLocal<>();
+
+    private final StatementCount parent;
+    private int statements;
+
+    private StatementCount(StatementCount parent) {
+        this.parent = parent;
+    }
+
+    // counts nest, so a test can wrap a whole MockMvc call while the filter counts the request inside it
+    public static StatementCount start() {
+        StatementCount count = new StatementCount(CURRENT.get());
+        CURRENT.set(count);
+        return count;
+    }
+
+    public static void stop() {
+        StatementCount count = CURRENT.get();
+        if (count == null || count.parent == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(count.parent);
+    }
+
+    public static StatementCount current() {
+        return CURRENT.get();
+    }
+
+    static void record() {
+        for (StatementCount count = CURRENT.get(); count != null; count = count.parent)
+            count.statements++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+}
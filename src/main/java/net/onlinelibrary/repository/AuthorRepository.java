@@ -1,14 +1,45 @@
 package net.onlinelibrary.repository;
 
 import net.onlinelibrary.model.Author;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+    Slice<Author> findAllBy(Pageable pageable);
+
+    @Query("select a from Author a " +
+            "where a.createdDate >= :createdDate and (a.createdDate > :createdDate or a.id > :id) " +
+            "order by a.createdDate, a.id")
+    Slice<Author> findAfter(@Param("createdDate") Date createdDate, @Param("id") Long id, Pageable pageable);
+
     List<Author> findByFirstNameStartsWithIgnoreCaseAndMiddleNameStartsWithIgnoreCaseAndLastNameStartsWithIgnoreCase(String firstName, String middleName, String lastName);
 
     List<Author> findByFirstNameStartsWithIgnoreCaseAndLastNameStartsWithIgnoreCase(String firstName, String lastName);
 
     List<Author> findByLastNameStartsWithIgnoreCase(String lastName);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select a from Author a")
+    Stream<Author> streamAll();
+
+    @Query("select a.id, b.id from Author a join a.books b where a.id in :ids order by b.id")
+    List<Object[]> findBookIdsOfAuthors(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id, g.id from Author a join a.genres g where a.id in :ids order by g.id")
+    List<Object[]> findGenreIdsOfAuthors(@Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,46 @@
 package net.onlinelibrary.repository;
 
 import net.onlinelibrary.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
+    Slice<Book> findAllBy(Pageable pageable);
+
+    @Query("select b from Book b " +
+            "where b.createdDate >= :createdDate and (b.createdDate > :createdDate or b.id > :id) " +
+            "order by b.createdDate, b.id")
+    Slice<Book> findAfter(@Param("createdDate") Date createdDate, @Param("id") Long id, Pageable pageable);
+
+    // authors and genres have no graph on purpose, a fetch join always goes to the database
+    // while findById plus the lazy collection is answered from their second-level cache regions
+    @EntityGraph(attributePaths = "comments")
+    Optional<Book> findWithCommentsById(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select b from Book b")
+    Stream<Book> streamAll();
+
+    @Query("select b.id, a.id from Book b join b.authors a where b.id in :ids order by a.id")
+    List<Object[]> findAuthorIdsOfBooks(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id, g.id from Book b join b.genres g where b.id in :ids order by g.id")
+    List<Object[]> findGenreIdsOfBooks(@Param("ids") Collection<Long> ids);
 }
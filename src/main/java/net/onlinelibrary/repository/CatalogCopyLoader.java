@@ -0,0 +1,162 @@
+package net.onlinelibrary.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.BaseEntity;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.Genre;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+@Slf4j
+@Repository
+public class CatalogCopyLoader {
+    private final DataSource dataSource;
+    private final MetamodelImplementor metamodel;
+
+    public CatalogCopyLoader(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+    }
+
+    public Map<String, Long> load(Path directory) throws IOException, SQLException {
+        List<CopyTarget> targets = Arrays.asList(
+                entity("authors.csv", Author.class,
+                        "lastName", "firstName", "middleName", "createdDate", "lastModifiedDate"),
+                entity("genres.csv", Genre.class,
+                        "genre", "createdDate", "lastModifiedDate"),
+                entity("books.csv", Book.class,
+                        "name", "pagesCount", "avatar", "publicationYear", "shortDescription", "rating",
+                        "createdDate", "lastModifiedDate"),
+                collection("book_authors.csv", Book.class, "authors"),
+                collection("book_genres.csv", Book.class, "genres"),
+                collection("author_genres.csv", Author.class, "genres"),
+                entity("comments.csv", Comment.class,
+                        "text", "rating", "user", "book", "createdDate", "lastModifiedDate"));
+
+        Map<String, Long> loaded = new LinkedHashMap<>();
+        Set<Class<? extends BaseEntity>> loadedEntities = new LinkedHashSet<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            connection.setAutoCommit(false);
+            try {
+                for (CopyTarget target : targets) {
+                    Path file = directory.resolve(target.file);
+                    if (!Files.isRegularFile(file)) {
+                        log.info("IN load - " + file + " not found, skipped");
+                        continue;
+                    }
+
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        long rows = copyManager.copyIn(target.copySql(), reader);
+                        loaded.put(target.table, rows);
+                        log.info("IN load - copied " + rows + " rows from " + file + " into " + target.table);
+                    }
+                    if (target.entity != null)
+                        loadedEntities.add(target.entity);
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    for (Class<? extends BaseEntity> entity : loadedEntities) {
+                        statement.execute(restartSequenceSql(entity));
+                        statement.execute(incrementVersionSql(entity));
+                    }
+                }
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                log.warn("IN load - catalog load from " + directory + " rolled back - " + e.getMessage());
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                for (String table : loaded.keySet())
+                    statement.execute("analyze " + table);
+            }
+        }
+
+        log.info("IN load - catalog loaded from " + directory + " - " + loaded);
+        return loaded;
+    }
+
+    private String restartSequenceSql(Class<? extends BaseEntity> entity) {
+        AbstractEntityPersister persister = entityPersister(entity);
+        String sequence = ((SequenceStyleGenerator) persister.getIdentifierGenerator())
+                .getDatabaseStructure()
+                .getName();
+        String id = persister.getIdentifierColumnNames()[0];
+
+        return "select setval('" + sequence + "', coalesce((select max(" + id + ") from " +
+                persister.getTableName() + "), 0) + 1, false)";
+    }
+
+    // see EntityVersionRepository, the copied rows move the list ETags in the same transaction
+    private String incrementVersionSql(Class<? extends BaseEntity> entity) {
+        return "update entity_versions set version = version + 1 where entity = '" +
+                entityPersister(entity).getTableName() + "'";
+    }
+
+    private CopyTarget entity(String file, Class<? extends BaseEntity> entity, String... properties) {
+        AbstractEntityPersister persister = entityPersister(entity);
+
+        List<String> columns = new ArrayList<>();
+        columns.add(persister.getIdentifierColumnNames()[0]);
+        for (String property : properties)
+            columns.add(persister.getPropertyColumnNames(property)[0]);
+
+        return new CopyTarget(file, entity, persister.getTableName(), columns);
+    }
+
+    private CopyTarget collection(String file, Class<? extends BaseEntity> owner, String property) {
+        AbstractCollectionPersister persister =
+                (AbstractCollectionPersister) metamodel.collectionPersister(owner.getName() + "." + property);
+
+        return new CopyTarget(file, null, persister.getTableName(), Arrays.asList(
+                persister.getKeyColumnNames()[0],
+                persister.getElementColumnNames()[0]));
+    }
+
+    private AbstractEntityPersister entityPersister(Class<? extends BaseEntity> entity) {
+        return (AbstractEntityPersister) metamodel.entityPersister(entity);
+    }
+
+    private static class CopyTarget {
+        private final String file;
+        private final Class<? extends BaseEntity> entity;
+        private final String table;
+        private final List<String> columns;
+
+        private CopyTarget(String file, Class<? extends BaseEntity> entity, String table, List<String> columns) {
+            this.file = file;
+            this.entity = entity;
+            this.table = table;
+            this.columns = columns;
+        }
+
+        private String copySql() {
+            return "copy " + table + " (" + String.join(", ", columns) + ") from stdin with (format csv, header true)";
+        }
+    }
+}
@@ -1,7 +1,50 @@
 package net.onlinelibrary.repository;
 
 import net.onlinelibrary.model.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    Slice<Comment> findAllBy(Pageable pageable);
+
+    @Query("select c from Comment c " +
+            "where c.createdDate >= :createdDate and (c.createdDate > :createdDate or c.id > :id) " +
+            "order by c.createdDate, c.id")
+    Slice<Comment> findAfter(@Param("createdDate") Date createdDate, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "book")
+    Optional<Comment> findWithBookById(Long id);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Comment> findWithUserById(Long id);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<Comment> findWithUserByBookId(Long bookId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select c from Comment c")
+    Stream<Comment> streamAll();
+
+    @Query("select c.book.id, c.id from Comment c where c.book.id in :ids order by c.id")
+    List<Object[]> findCommentIdsOfBooks(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.user.id, c.id from Comment c where c.user.id in :ids order by c.id")
+    List<Object[]> findCommentIdsOfUsers(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,51 @@
+package net.onlinelibrary.repository;
+
+import net.onlinelibrary.model.BaseEntity;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Repository
+public class EntityMultiLoader {
+    // keeps every statement well below the 32767 bind parameters Postgres accepts
+    private static final int BATCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    public EntityMultiLoader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public <E> List<E> findAllById(Class<E> type, Collection<Long> ids) {
+        return entityManager
+                .unwrap(Session.class)
+                .byMultipleIds(type)
+                .withBatchSize(BATCH_SIZE)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // associations mapped outside of a transaction are detached and can't be persisted through their cascades,
+    // so they are swapped for references of the current persistence context
+    public <E extends BaseEntity> E getReference(Class<E> type, E entity) {
+        return entity == null || entity.getId() == null
+                ? entity
+                : entityManager.getReference(type, entity.getId());
+    }
+
+    public <E extends BaseEntity> List<E> getReferences(Class<E> type, List<E> entities) {
+        return entities == null
+                ? null
+                : entities.stream().map(entity -> getReference(type, entity)).collect(Collectors.toList());
+    }
+}
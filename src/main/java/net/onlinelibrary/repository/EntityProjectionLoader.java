@@ -0,0 +1,78 @@
+package net.onlinelibrary.repository;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+public class EntityProjectionLoader {
+    private final EntityManager entityManager;
+
+    public EntityProjectionLoader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // returns detached instances holding only the id and the requested basic attributes, never pass them to save
+    @Transactional(readOnly = true)
+    public <E> Slice<E> findAll(Class<E> type, Collection<String> attributes, Pageable pageable) {
+        EntityType<E> entityType = entityManager.getMetamodel().entity(type);
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        columns.addAll(attributes.stream()
+                .filter(attribute -> isBasic(entityType, attribute))
+                .collect(Collectors.toList()));
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<E> root = query.from(type);
+        query.multiselect(columns.stream()
+                .map(column -> root.get(column).alias(column))
+                .collect(Collectors.toList()));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = tuples.size() > pageable.getPageSize();
+        List<E> entities = new ArrayList<>();
+        for (Tuple tuple : tuples.subList(0, Math.min(tuples.size(), pageable.getPageSize()))) {
+            E entity = BeanUtils.instantiateClass(type);
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            for (String column : columns)
+                wrapper.setPropertyValue(column, tuple.get(column));
+            entities.add(entity);
+        }
+
+        return new SliceImpl<>(entities, pageable, hasNext);
+    }
+
+    private static boolean isBasic(EntityType<?> entityType, String attribute) {
+        try {
+            return entityType.getAttribute(attribute).getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
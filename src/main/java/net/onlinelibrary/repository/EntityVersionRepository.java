@@ -0,0 +1,48 @@
+package net.onlinelibrary.repository;
+
+import net.onlinelibrary.model.BaseEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Table;
+import java.util.List;
+
+// list ETags are built from a per-table version that every write bumps in its own transaction,
+// so the change and the new version become visible together on every instance, whatever dates the writer assigned
+@Repository
+public class EntityVersionRepository {
+    private final EntityManager entityManager;
+
+    public EntityVersionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public long getVersion(Class<? extends BaseEntity> type) {
+        List<?> versions = entityManager
+                .createNativeQuery("select version from entity_versions where entity = :entity")
+                .setParameter("entity", tableOf(type))
+                .getResultList();
+        return versions.isEmpty() ? 0 : ((Number) versions.get(0)).longValue();
+    }
+
+    // the row lock also orders concurrent writers of the same table until they commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(Class<? extends BaseEntity> type) {
+        int updated = entityManager
+                .createNativeQuery("update entity_versions set version = version + 1 where entity = :entity")
+                .setParameter("entity", tableOf(type))
+                .executeUpdate();
+        if (updated == 0)
+            entityManager
+                    .createNativeQuery("insert into entity_versions (entity, version) values (:entity, 1)")
+                    .setParameter("entity", tableOf(type))
+                    .executeUpdate();
+    }
+
+    private static String tableOf(Class<? extends BaseEntity> type) {
+        return type.getAnnotation(Table.class).name();
+    }
+}
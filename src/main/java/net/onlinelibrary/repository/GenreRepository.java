@@ -1,12 +1,40 @@
 package net.onlinelibrary.repository;
 
 import net.onlinelibrary.model.Genre;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface GenreRepository extends JpaRepository<Genre, Long> {
+    Slice<Genre> findAllBy(Pageable pageable);
+
     boolean existsByGenreIgnoreCase(String genre);
 
+    @Query("select lower(g.genre) from Genre g where lower(g.genre) in :genres")
+    List<String> findExistingGenresIgnoreCase(@Param("genres") Collection<String> lowerCaseGenres);
+
     List<Genre> findByGenreStartsWithIgnoreCase(String subStr);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select g from Genre g")
+    Stream<Genre> streamAll();
+
+    @Query("select g.id, b.id from Genre g join g.books b where g.id in :ids order by b.id")
+    List<Object[]> findBookIdsOfGenres(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id, a.id from Genre g join g.authors a where g.id in :ids order by a.id")
+    List<Object[]> findAuthorIdsOfGenres(@Param("ids") Collection<Long> ids);
 }
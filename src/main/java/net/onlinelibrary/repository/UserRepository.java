@@ -1,15 +1,37 @@
 package net.onlinelibrary.repository;
 
 import net.onlinelibrary.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    Slice<User> findAllBy(Pageable pageable);
+
+    @Query("select u from User u " +
+            "where u.createdDate >= :createdDate and (u.createdDate > :createdDate or u.id > :id) " +
+            "order by u.createdDate, u.id")
+    Slice<User> findAfter(@Param("createdDate") Date createdDate, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "comments")
+    Optional<User> findWithCommentsById(Long id);
+
     Optional<User> findByUsernameIgnoreCase(String username);
 
     Optional<User> findByUsernameOrEmailIgnoreCase(String username, String email);
 
     boolean existsByUsernameOrEmailIgnoreCase(String username, String email);
+
+    @Query("select u.username, lower(u.email) from User u where u.username in :usernames or lower(u.email) in :emails")
+    List<Object[]> findTakenUsernamesAndEmails(
+            @Param("usernames") Collection<String> usernames,
+            @Param("emails") Collection<String> lowerCaseEmails);
 }
@@ -6,15 +6,13 @@ import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.UserNotFoundException;
 import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
-import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.UserMapper;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.security.jwt.JwtTokenProvider;
+import net.onlinelibrary.service.PasswordHashingService;
 import net.onlinelibrary.service.UserService;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,67 +20,84 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("api")
 public class AuthenticationController {
     private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
 
-    private final AuthenticationManager authenticationManager;
-
+    private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserMapper userMapper;
 
+    private volatile String dummyEncodedPassword;
+
     public AuthenticationController(
             UserService userService,
-            AuthenticationManager authenticationManager,
-            JwtTokenProvider jwtTokenProvider, UserMapper userMapper) {
+            PasswordHashingService passwordHashingService,
+            PasswordEncoder passwordEncoder,
+            JwtTokenProvider jwtTokenProvider,
+            UserMapper userMapper) {
         this.userService = userService;
-        this.authenticationManager = authenticationManager;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userMapper = userMapper;
     }
 
     @PostMapping("login")
     @JsonView(Views.ForEvery.class)
-    public Map<Object, Object> login(@RequestBody UserDto dto) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            dto.getUsername(),
-                            dto.getPassword()));
-        } catch (AuthenticationException e) {
-            throw new BadCredentialsException("Invalid username or password");
-        }
-
-        User user = null;
+    public CompletableFuture<Map<Object, Object>> login(@RequestBody UserDto dto) {
+        User found;
         try {
-            user = userService.getByUsername(dto.getUsername());
+            found = userService.getByUsername(dto.getUsername());
         } catch (UserNotFoundException e) {
-            throw new NotFoundException(e.getMessage());
+            found = null;
         }
 
-        String token = jwtTokenProvider.createToken(user.getUsername(), user.getRoles());
+        User user = found != null && Boolean.TRUE.equals(found.getActive()) ? found : null;
+        String password = dto.getPassword() == null ? "" : dto.getPassword();
+
+        // unknown and inactive users pay for a comparison as well, so the response time doesn't reveal accounts
+        return passwordHashingService.matches(password, user != null ? user.getPassword() : dummyEncodedPassword())
+                .thenApply(matches -> {
+                    if (!matches || user == null || dto.getPassword() == null)
+                        throw new BadCredentialsException("Invalid username or password");
 
-        Map<Object, Object> response = new HashMap<>();
-        response.put("user", userMapper.toDto(user));
-        response.put("token", token);
+                    String token = jwtTokenProvider.createToken(user.getId(), user.getUsername(), user.getRoles());
 
-        return response;
+                    Map<Object, Object> response = new HashMap<>();
+                    response.put("user", userMapper.toDto(user, Views.ForEvery.class));
+                    response.put("token", token);
+
+                    return response;
+                });
     }
 
     @PostMapping("register")
     @JsonView(Views.ForEvery.class)
-    public UserDto register(@RequestBody UserDto dto) {
+    public CompletableFuture<UserDto> register(@RequestBody UserDto dto) {
         User user = userMapper.toEntity(dto);
 
-        User savedUser;
-        try {
-            savedUser = userService.saveNewUser(user);
-        } catch (ValidationException e) {
-            throw new BadRequestException("Validation failure - " + e.getMessage());
-        }
+        return passwordHashingService.encode(user.getPassword())
+                .thenApply(encodedPassword -> {
+                    User savedUser;
+                    try {
+                        savedUser = userService.saveNewUser(user, encodedPassword);
+                    } catch (ValidationException e) {
+                        throw new BadRequestException("Validation failure - " + e.getMessage());
+                    }
+
+                    return userMapper.toDto(savedUser, Views.ForEvery.class);
+                });
+    }
 
-        return userMapper.toDto(savedUser);
+    private String dummyEncodedPassword() {
+        if (dummyEncodedPassword == null)
+            dummyEncodedPassword = passwordEncoder.encode(UUID.randomUUID().toString());
+        return dummyEncodedPassword;
     }
 }
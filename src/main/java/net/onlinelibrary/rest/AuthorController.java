@@ -4,23 +4,37 @@ import com.fasterxml.jackson.annotation.JsonView;
 import net.onlinelibrary.dto.AuthorDto;
 import net.onlinelibrary.dto.BookDto;
 import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.view.Fieldset;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.AuthorException;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.AuthorMapper;
 import net.onlinelibrary.mapper.implementation.BookMapper;
 import net.onlinelibrary.mapper.implementation.GenreMapper;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.service.AuthorService;
+import net.onlinelibrary.util.ConditionalGet;
+import net.onlinelibrary.util.Headers;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("api/authors")
 public class AuthorController {
+    @Value("${web.max-ids}")
+    private int maxIds;
+
     private final AuthorService authorService;
 
     private final AuthorMapper authorMapper;
@@ -40,19 +54,118 @@ public class AuthorController {
 
     @GetMapping("")
     @JsonView(Views.ForEvery.class)
-    public Stream<AuthorDto> getAuthorsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return authorService
-                .getByRange(offset, count)
-                .stream()
-                .map(author -> authorMapper.toDto(author));
+    public Stream<AuthorDto> getAuthorsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, authorService.getAuthorsVersion()))
+            return null;
+
+        return fields == null
+                ? getAuthorsInRange(offset, count, Views.ForEvery.class, response)
+                : getAuthorsInRange(offset, count, fields, Views.ForEvery.class, response);
+    }
+
+    // associations hidden by the view are not queried
+    public Stream<AuthorDto> getAuthorsInRange(Integer offset, Integer count, Class<?> view, HttpServletResponse response) {
+        Slice<Author> authors = authorService.getByRange(offset, count);
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(authors.hasNext()));
+
+        return authorMapper
+                .toDtos(authors.getContent(), view)
+                .stream();
+    }
+
+    // selected fields narrow the SQL projection, the serialization is narrowed by FieldsetResponseBodyAdvice
+    public Stream<AuthorDto> getAuthorsInRange(
+            Integer offset,
+            Integer count,
+            String fields,
+            Class<?> view,
+            HttpServletResponse response) {
+        Fieldset fieldset;
+        try {
+            fieldset = Fieldset.parse(fields, AuthorDto.class, view);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid fields - " + e.getMessage());
+        }
+
+        Slice<Author> authors = authorService.getByRange(offset, count, fieldset.getFields());
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(authors.hasNext()));
+
+        return authorMapper
+                .toDtos(authors.getContent(), fieldset.getFields())
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "after")
+    @JsonView(Views.ForEvery.class)
+    public Stream<AuthorDto> getAuthorsAfter(
+            @RequestParam String after,
+            @RequestParam Integer count,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        KeysetCursor cursor;
+        try {
+            cursor = KeysetCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor - " + e.getMessage());
+        }
+
+        if (ConditionalGet.isNotModified(webRequest, authorService.getAuthorsVersion()))
+            return null;
+
+        Slice<Author> authors = authorService.getAfter(cursor, count);
+
+        if (authors.hasNext()) {
+            Author last = authors.getContent().get(authors.getNumberOfElements() - 1);
+            response.setHeader(Headers.NEXT_CURSOR, KeysetCursor.of(last).encode());
+        }
+
+        return authorMapper
+                .toDtos(authors.getContent(), Views.ForEvery.class)
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForEvery.class)
+    public Stream<AuthorDto> getAuthorsByIds(@RequestParam List<Long> ids) {
+        return getAuthorsByIds(ids, Views.ForEvery.class);
+    }
+
+    public Stream<AuthorDto> getAuthorsByIds(List<Long> ids, Class<?> view) {
+        if (ids.size() > maxIds)
+            throw new BadRequestException("Too many ids - at most " + maxIds + " can be requested at once");
+
+        return authorMapper
+                .toDtos(authorService.getByIds(ids), view)
+                .stream();
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForEvery.class)
-    public AuthorDto getAuthorById(@PathVariable("id") Long authorId) {
+    public AuthorDto getAuthorById(@PathVariable("id") Long authorId, WebRequest webRequest) {
+        Author author;
+        try {
+            author = authorService.getById(authorId);
+        } catch (AuthorException e) {
+            throw new NotFoundException(e.getMessage());
+        }
+
+        if (ConditionalGet.isNotModified(webRequest, author))
+            return null;
+
+        return authorMapper.toDto(author, Views.ForEvery.class);
+    }
+
+    public AuthorDto getAuthorById(Long authorId, Class<?> view) {
         try {
             Author author = authorService.getById(authorId);
-            return authorMapper.toDto(author);
+            return authorMapper.toDto(author, view);
         } catch (AuthorException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -61,11 +174,14 @@ public class AuthorController {
     @GetMapping("{id}/books")
     @JsonView(Views.ForEvery.class)
     public Stream<BookDto> getBooksOfAuthor(@PathVariable("id") Long authorId) {
+        return getBooksOfAuthor(authorId, Views.ForEvery.class);
+    }
+
+    public Stream<BookDto> getBooksOfAuthor(Long authorId, Class<?> view) {
         try {
-            return authorService
-                    .getBooksOfAuthor(authorId)
-                    .stream()
-                    .map(book -> bookMapper.toDto(book));
+            return bookMapper
+                    .toDtos(authorService.getBooksOfAuthor(authorId), view)
+                    .stream();
         } catch (AuthorException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -74,11 +190,14 @@ public class AuthorController {
     @GetMapping("{id}/genres")
     @JsonView(Views.ForEvery.class)
     public Stream<GenreDto> getGenresOfAuthor(@PathVariable("id") Long authorId) {
+        return getGenresOfAuthor(authorId, Views.ForEvery.class);
+    }
+
+    public Stream<GenreDto> getGenresOfAuthor(Long authorId, Class<?> view) {
         try {
-            return authorService
-                    .getGenresOfAuthor(authorId)
-                    .stream()
-                    .map(genre -> genreMapper.toDto(genre));
+            return genreMapper
+                    .toDtos(authorService.getGenresOfAuthor(authorId), view)
+                    .stream();
         } catch (AuthorException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -102,9 +221,12 @@ public class AuthorController {
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String middleName,
             @RequestParam(required = false) String lastName) {
-        return authorService
-                .searchBy(firstName, middleName, lastName)
-                .stream()
-                .map(author -> authorMapper.toDto(author));
+        return search(firstName, middleName, lastName, Views.ForEvery.class);
+    }
+
+    public Stream<AuthorDto> search(String firstName, String middleName, String lastName, Class<?> view) {
+        return authorMapper
+                .toDtos(authorService.searchBy(firstName, middleName, lastName), view)
+                .stream();
     }
 }
@@ -2,27 +2,45 @@ package net.onlinelibrary.rest;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.BookDetailsDto;
 import net.onlinelibrary.dto.BookDto;
 import net.onlinelibrary.dto.CommentDto;
 import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.view.Fieldset;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.BookException;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.AuthorMapper;
 import net.onlinelibrary.mapper.implementation.BookMapper;
 import net.onlinelibrary.mapper.implementation.CommentMapper;
 import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.service.BookDetailsService;
 import net.onlinelibrary.service.BookService;
+import net.onlinelibrary.util.ConditionalGet;
+import net.onlinelibrary.util.Headers;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.stream.Stream;
 import java.util.Map;
 
 @RestController
 @RequestMapping("api/books")
 public class BookController {
+    @Value("${web.max-ids}")
+    private int maxIds;
+
     private final BookService bookService;
+    private final BookDetailsService bookDetailsService;
 
     private final BookMapper bookMapper;
     private final AuthorMapper authorMapper;
@@ -31,11 +49,13 @@ public class BookController {
 
     public BookController(
             BookService bookService,
+            BookDetailsService bookDetailsService,
             BookMapper bookMapper,
             AuthorMapper authorMapper,
             GenreMapper genreMapper,
             CommentMapper commentMapper) {
         this.bookService = bookService;
+        this.bookDetailsService = bookDetailsService;
         this.bookMapper = bookMapper;
         this.authorMapper = authorMapper;
         this.genreMapper = genreMapper;
@@ -44,18 +64,133 @@ public class BookController {
 
     @GetMapping("")
     @JsonView(Views.ForEvery.class)
-    public Stream<BookDto> getBooksInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return bookService
-                .getByRange(offset, count)
-                .stream()
-                .map(book -> bookMapper.toDto(book));
+    public Stream<BookDto> getBooksInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, bookService.getBooksVersion()))
+            return null;
+
+        return fields == null
+                ? getBooksInRange(offset, count, Views.ForEvery.class, response)
+                : getBooksInRange(offset, count, fields, Views.ForEvery.class, response);
+    }
+
+    // associations hidden by the view are not queried
+    public Stream<BookDto> getBooksInRange(Integer offset, Integer count, Class<?> view, HttpServletResponse response) {
+        Slice<Book> books = bookService.getByRange(offset, count);
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(books.hasNext()));
+
+        return bookMapper
+                .toDtos(books.getContent(), view)
+                .stream();
+    }
+
+    // selected fields narrow the SQL projection, the serialization is narrowed by FieldsetResponseBodyAdvice
+    public Stream<BookDto> getBooksInRange(
+            Integer offset,
+            Integer count,
+            String fields,
+            Class<?> view,
+            HttpServletResponse response) {
+        Fieldset fieldset;
+        try {
+            fieldset = Fieldset.parse(fields, BookDto.class, view);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid fields - " + e.getMessage());
+        }
+
+        Slice<Book> books = bookService.getByRange(offset, count, fieldset.getFields());
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(books.hasNext()));
+
+        return bookMapper
+                .toDtos(books.getContent(), fieldset.getFields())
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "after")
+    @JsonView(Views.ForEvery.class)
+    public Stream<BookDto> getBooksAfter(
+            @RequestParam String after,
+            @RequestParam Integer count,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        KeysetCursor cursor;
+        try {
+            cursor = KeysetCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor - " + e.getMessage());
+        }
+
+        if (ConditionalGet.isNotModified(webRequest, bookService.getBooksVersion()))
+            return null;
+
+        Slice<Book> books = bookService.getAfter(cursor, count);
+
+        if (books.hasNext()) {
+            Book last = books.getContent().get(books.getNumberOfElements() - 1);
+            response.setHeader(Headers.NEXT_CURSOR, KeysetCursor.of(last).encode());
+        }
+
+        return bookMapper
+                .toDtos(books.getContent(), Views.ForEvery.class)
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForEvery.class)
+    public Stream<BookDto> getBooksByIds(@RequestParam List<Long> ids) {
+        return getBooksByIds(ids, Views.ForEvery.class);
+    }
+
+    public Stream<BookDto> getBooksByIds(List<Long> ids, Class<?> view) {
+        if (ids.size() > maxIds)
+            throw new BadRequestException("Too many ids - at most " + maxIds + " can be requested at once");
+
+        return bookMapper
+                .toDtos(bookService.getByIds(ids), view)
+                .stream();
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForEvery.class)
-    public BookDto getBookById(@PathVariable("id") Long bookId) {
+    public BookDto getBookById(@PathVariable("id") Long bookId, WebRequest webRequest) {
+        Book book;
         try {
-            return bookMapper.toDto(bookService.getById(bookId));
+            book = bookService.getById(bookId);
+        } catch (BookException e) {
+            throw new NotFoundException(e.getMessage());
+        }
+
+        if (ConditionalGet.isNotModified(webRequest, book))
+            return null;
+
+        return bookMapper.toDto(book, Views.ForEvery.class);
+    }
+
+    public BookDto getBookById(Long bookId, Class<?> view) {
+        try {
+            return bookMapper.toDto(bookService.getById(bookId), view);
+        } catch (BookException e) {
+            throw new NotFoundException(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}/details")
+    @JsonView(Views.ForEvery.class)
+    public BookDetailsDto getBookDetails(
+            @PathVariable("id") Long bookId,
+            @RequestParam(defaultValue = "20") Integer comments) {
+        return getBookDetails(bookId, comments, Views.ForEvery.class);
+    }
+
+    public BookDetailsDto getBookDetails(Long bookId, Integer comments, Class<?> view) {
+        try {
+            return bookDetailsService.getDetails(bookId, comments, view);
         } catch (BookException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -64,11 +199,14 @@ public class BookController {
     @GetMapping("{id}/authors")
     @JsonView(Views.ForEvery.class)
     public Stream<AuthorDto> getAuthorsOfBook(@PathVariable("id") Long bookId) {
+        return getAuthorsOfBook(bookId, Views.ForEvery.class);
+    }
+
+    public Stream<AuthorDto> getAuthorsOfBook(Long bookId, Class<?> view) {
         try {
-            return bookService
-                    .getAuthorsOfBook(bookId)
-                    .stream()
-                    .map(author -> authorMapper.toDto(author));
+            return authorMapper
+                    .toDtos(bookService.getAuthorsOfBook(bookId), view)
+                    .stream();
         } catch (BookException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -77,11 +215,14 @@ public class BookController {
     @GetMapping("{id}/genres")
     @JsonView(Views.ForEvery.class)
     public Stream<GenreDto> getGenresOfBook(@PathVariable("id") Long bookId) {
+        return getGenresOfBook(bookId, Views.ForEvery.class);
+    }
+
+    public Stream<GenreDto> getGenresOfBook(Long bookId, Class<?> view) {
         try {
-            return bookService
-                    .getGenresOfBook(bookId)
-                    .stream()
-                    .map(genre -> genreMapper.toDto(genre));
+            return genreMapper
+                    .toDtos(bookService.getGenresOfBook(bookId), view)
+                    .stream();
         } catch (BookException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -91,10 +232,9 @@ public class BookController {
     @JsonView(Views.ForEvery.class)
     public Stream<CommentDto> getCommentsOfBook(@PathVariable("id") Long bookId) {
         try {
-            return bookService
-                    .getCommentsOfBook(bookId)
-                    .stream()
-                    .map(comment -> commentMapper.toDto(comment));
+            return commentMapper
+                    .toDtos(bookService.getCommentsOfBook(bookId))
+                    .stream();
         } catch (BookException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -6,20 +6,32 @@ import net.onlinelibrary.dto.CommentDto;
 import net.onlinelibrary.dto.UserDto;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.CommentException;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.BookMapper;
 import net.onlinelibrary.mapper.implementation.CommentMapper;
 import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.service.CommentService;
+import net.onlinelibrary.util.Headers;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("api/comments")
 public class CommentController {
+    @Value("${web.max-ids}")
+    private int maxIds;
+
     private final CommentService commentService;
 
     private final CommentMapper commentMapper;
@@ -39,11 +51,53 @@ public class CommentController {
 
     @GetMapping("")
     @JsonView(Views.ForEvery.class)
-    public Stream<CommentDto> getCommentsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return commentService
-                .getByRange(offset, count)
-                .stream()
-                .map(comment -> commentMapper.toDto(comment));
+    public Stream<CommentDto> getCommentsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        Slice<Comment> comments = commentService.getByRange(offset, count);
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(comments.hasNext()));
+
+        return commentMapper
+                .toDtos(comments.getContent())
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "after")
+    @JsonView(Views.ForEvery.class)
+    public Stream<CommentDto> getCommentsAfter(
+            @RequestParam String after,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        KeysetCursor cursor;
+        try {
+            cursor = KeysetCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor - " + e.getMessage());
+        }
+
+        Slice<Comment> comments = commentService.getAfter(cursor, count);
+
+        if (comments.hasNext()) {
+            Comment last = comments.getContent().get(comments.getNumberOfElements() - 1);
+            response.setHeader(Headers.NEXT_CURSOR, KeysetCursor.of(last).encode());
+        }
+
+        return commentMapper
+                .toDtos(comments.getContent())
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForEvery.class)
+    public Stream<CommentDto> getCommentsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxIds)
+            throw new BadRequestException("Too many ids - at most " + maxIds + " can be requested at once");
+
+        return commentMapper
+                .toDtos(commentService.getByIds(ids))
+                .stream();
     }
 
     @GetMapping("{id}")
@@ -59,8 +113,12 @@ public class CommentController {
     @GetMapping("{id}/book")
     @JsonView(Views.ForEvery.class)
     public BookDto getBookOfComment(@PathVariable("id") Long commentId) {
+        return getBookOfComment(commentId, Views.ForEvery.class);
+    }
+
+    public BookDto getBookOfComment(Long commentId, Class<?> view) {
         try {
-            return bookMapper.toDto(commentService.getBookOfComment(commentId));
+            return bookMapper.toDto(commentService.getBookOfComment(commentId), view);
         } catch (CommentException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -69,8 +127,12 @@ public class CommentController {
     @GetMapping("{id}/user")
     @JsonView(Views.ForEvery.class)
     public UserDto getUserOfComment(@PathVariable("id") Long commentId) {
+        return getUserOfComment(commentId, Views.ForEvery.class);
+    }
+
+    public UserDto getUserOfComment(Long commentId, Class<?> view) {
         try {
-            return userMapper.toDto(commentService.getUserOfComment(commentId));
+            return userMapper.toDto(commentService.getUserOfComment(commentId), view);
         } catch (CommentException e) {
             throw new NotFoundException(e.getMessage());
         }
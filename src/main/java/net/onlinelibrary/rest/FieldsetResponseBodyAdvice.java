@@ -0,0 +1,63 @@
+package net.onlinelibrary.rest;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import net.onlinelibrary.dto.BaseDto;
+import net.onlinelibrary.dto.view.Fieldset;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+// runs before the built-in JsonView advice, which then adds the view to the same MappingJacksonValue
+@RestControllerAdvice
+public class FieldsetResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    public static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(JsonView.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest))
+            return;
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null)
+            return;
+
+        Class<?> dtoClass = dtoClassOf(returnType);
+        if (dtoClass == null || !BaseDto.class.isAssignableFrom(dtoClass))
+            return;
+
+        JsonView jsonView = returnType.getMethodAnnotation(JsonView.class);
+        try {
+            bodyContainer.setFilters(Fieldset.parse(fields, dtoClass, jsonView.value()[0]).toFilterProvider());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid fields - " + e.getMessage());
+        }
+    }
+
+    private static Class<?> dtoClassOf(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        Class<?> rawClass = type.resolve();
+        if (rawClass != null && (Stream.class.isAssignableFrom(rawClass) || Collection.class.isAssignableFrom(rawClass)))
+            return type.getGeneric(0).resolve();
+        return rawClass;
+    }
+}
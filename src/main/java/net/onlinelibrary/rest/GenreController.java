@@ -4,22 +4,36 @@ import com.fasterxml.jackson.annotation.JsonView;
 import net.onlinelibrary.dto.AuthorDto;
 import net.onlinelibrary.dto.BookDto;
 import net.onlinelibrary.dto.GenreDto;
+import net.onlinelibrary.dto.view.Fieldset;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.GenreException;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.AuthorMapper;
 import net.onlinelibrary.mapper.implementation.BookMapper;
 import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.model.Genre;
 import net.onlinelibrary.service.GenreService;
+import net.onlinelibrary.util.ConditionalGet;
+import net.onlinelibrary.util.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("api/genres")
 public class GenreController {
+    @Value("${web.max-ids}")
+    private int maxIds;
+
     private final GenreService genreService;
 
     private final GenreMapper genreMapper;
@@ -39,18 +53,88 @@ public class GenreController {
 
     @GetMapping("")
     @JsonView(Views.ForEvery.class)
-    public Stream<GenreDto> getGenresInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return genreService
-                .getByRange(offset, count)
-                .stream()
-                .map(genre -> genreMapper.toDto(genre));
+    public Stream<GenreDto> getGenresInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+        if (ConditionalGet.isNotModified(webRequest, genreService.getGenresVersion()))
+            return null;
+
+        return fields == null
+                ? getGenresInRange(offset, count, Views.ForEvery.class, response)
+                : getGenresInRange(offset, count, fields, Views.ForEvery.class, response);
+    }
+
+    // associations hidden by the view are not queried
+    public Stream<GenreDto> getGenresInRange(Integer offset, Integer count, Class<?> view, HttpServletResponse response) {
+        Slice<Genre> genres = genreService.getByRange(offset, count);
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(genres.hasNext()));
+
+        return genreMapper
+                .toDtos(genres.getContent(), view)
+                .stream();
+    }
+
+    // selected fields narrow the SQL projection, the serialization is narrowed by FieldsetResponseBodyAdvice
+    public Stream<GenreDto> getGenresInRange(
+            Integer offset,
+            Integer count,
+            String fields,
+            Class<?> view,
+            HttpServletResponse response) {
+        Fieldset fieldset;
+        try {
+            fieldset = Fieldset.parse(fields, GenreDto.class, view);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid fields - " + e.getMessage());
+        }
+
+        Slice<Genre> genres = genreService.getByRange(offset, count, fieldset.getFields());
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(genres.hasNext()));
+
+        return genreMapper
+                .toDtos(genres.getContent(), fieldset.getFields())
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForEvery.class)
+    public Stream<GenreDto> getGenresByIds(@RequestParam List<Long> ids) {
+        return getGenresByIds(ids, Views.ForEvery.class);
+    }
+
+    public Stream<GenreDto> getGenresByIds(List<Long> ids, Class<?> view) {
+        if (ids.size() > maxIds)
+            throw new BadRequestException("Too many ids - at most " + maxIds + " can be requested at once");
+
+        return genreMapper
+                .toDtos(genreService.getByIds(ids), view)
+                .stream();
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForEvery.class)
-    public GenreDto getGenreById(@PathVariable("id") Long genreId) {
+    public GenreDto getGenreById(@PathVariable("id") Long genreId, WebRequest webRequest) {
+        Genre genre;
         try {
-            return genreMapper.toDto(genreService.getById(genreId));
+            genre = genreService.getById(genreId);
+        } catch (GenreException e) {
+            throw new NotFoundException(e.getMessage());
+        }
+
+        if (ConditionalGet.isNotModified(webRequest, genre))
+            return null;
+
+        return genreMapper.toDto(genre, Views.ForEvery.class);
+    }
+
+    public GenreDto getGenreById(Long genreId, Class<?> view) {
+        try {
+            return genreMapper.toDto(genreService.getById(genreId), view);
         } catch (GenreException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -59,11 +143,14 @@ public class GenreController {
     @GetMapping("{id}/books")
     @JsonView(Views.ForEvery.class)
     public Stream<BookDto> getBooksOfGenre(@PathVariable("id") Long genreId) {
+        return getBooksOfGenre(genreId, Views.ForEvery.class);
+    }
+
+    public Stream<BookDto> getBooksOfGenre(Long genreId, Class<?> view) {
         try {
-            return genreService
-                    .getBooksOfGenre(genreId)
-                    .stream()
-                    .map(book -> bookMapper.toDto(book));
+            return bookMapper
+                    .toDtos(genreService.getBooksOfGenre(genreId), view)
+                    .stream();
         } catch (GenreException e) {
             throw  new NotFoundException(e.getMessage());
         }
@@ -72,11 +159,14 @@ public class GenreController {
     @GetMapping("{id}/authors")
     @JsonView(Views.ForEvery.class)
     public Stream<AuthorDto> getAuthorsOfGenre(@PathVariable("id") Long genreId) {
+        return getAuthorsOfGenre(genreId, Views.ForEvery.class);
+    }
+
+    public Stream<AuthorDto> getAuthorsOfGenre(Long genreId, Class<?> view) {
         try {
-            return genreService
-                    .getAuthorsOfGenre(genreId)
-                    .stream()
-                    .map(author -> authorMapper.toDto(author));
+            return authorMapper
+                    .toDtos(genreService.getAuthorsOfGenre(genreId), view)
+                    .stream();
         } catch (GenreException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -97,9 +187,12 @@ public class GenreController {
     @GetMapping("search")
     @JsonView(Views.ForEvery.class)
     public Stream<GenreDto> searchBy(@RequestParam("name") String genreStartsWith) {
-        return genreService
-                .searchBySubStr(genreStartsWith)
-                .stream()
-                .map(genre -> genreMapper.toDto(genre));
+        return searchBy(genreStartsWith, Views.ForEvery.class);
+    }
+
+    public Stream<GenreDto> searchBy(String genreStartsWith, Class<?> view) {
+        return genreMapper
+                .toDtos(genreService.searchBySubStr(genreStartsWith), view)
+                .stream();
     }
 }
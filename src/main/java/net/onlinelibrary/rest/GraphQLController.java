@@ -0,0 +1,51 @@
+package net.onlinelibrary.rest;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.GraphQLContext;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
+import net.onlinelibrary.graphql.GraphQLDataLoaders;
+import net.onlinelibrary.graphql.ViewInstrumentation;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/graphql")
+public class GraphQLController {
+    private final GraphQL graphQL;
+    private final GraphQLDataLoaders dataLoaders;
+
+    public GraphQLController(GraphQL graphQL, GraphQLDataLoaders dataLoaders) {
+        this.graphQL = graphQL;
+        this.dataLoaders = dataLoaders;
+    }
+
+    @PostMapping("")
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> execute(@RequestBody Map<String, Object> request) {
+        Object query = request.get("query");
+        if (!(query instanceof String))
+            throw new BadRequestException("Query is required");
+
+        Object variables = request.get("variables");
+        Object operationName = request.get("operationName");
+
+        ExecutionInput input = ExecutionInput.newExecutionInput()
+                .query((String) query)
+                .operationName(operationName instanceof String ? (String) operationName : null)
+                .variables(variables instanceof Map ? (Map<String, Object>) variables : new HashMap<>())
+                .context(GraphQLContext.newContext().of(
+                        ViewInstrumentation.VIEW,
+                        ViewInstrumentation.viewOf(SecurityContextHolder.getContext().getAuthentication())))
+                .dataLoaderRegistry(dataLoaders.newRegistry())
+                .build();
+
+        return graphQL.execute(input).toSpecification();
+    }
+}
@@ -0,0 +1,34 @@
+package net.onlinelibrary.rest;
+
+import net.onlinelibrary.monitoring.StatementCount;
+import net.onlinelibrary.util.Headers;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// the header has to go out before the body, so it counts the statements issued up to serialization
+@RestControllerAdvice
+public class StatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        StatementCount count = StatementCount.current();
+        if (count != null)
+            response.getHeaders().set(Headers.SQL_STATEMENTS, String.valueOf(count.getStatements()));
+        return body;
+    }
+}
@@ -0,0 +1,29 @@
+package net.onlinelibrary.rest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class TaskRejectedHandler {
+    @Value("${web.busy.retry-after}")
+    private long retryAfterSeconds;
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<Object, Object>> handleTaskRejected(TaskRejectedException e) {
+        Map<Object, Object> body = new HashMap<>();
+        body.put("message", "Server is busy, retry later");
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+}
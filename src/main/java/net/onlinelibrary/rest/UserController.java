@@ -5,19 +5,31 @@ import net.onlinelibrary.dto.CommentDto;
 import net.onlinelibrary.dto.UserDto;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.UserNotFoundException;
+import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.CommentMapper;
 import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.model.User;
 import net.onlinelibrary.service.UserService;
+import net.onlinelibrary.util.Headers;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("api/users")
 public class UserController {
+    @Value("${web.max-ids}")
+    private int maxIds;
+
     private final UserService userService;
 
     private final UserMapper userMapper;
@@ -31,18 +43,73 @@ public class UserController {
 
     @GetMapping("")
     @JsonView(Views.ForEvery.class)
-    public Stream<UserDto> getUsersInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return userService
-                .getByRange(offset, count)
-                .stream()
-                .map(user -> userMapper.toDto(user));
+    public Stream<UserDto> getUsersInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return getUsersInRange(offset, count, Views.ForEvery.class, response);
+    }
+
+    // associations hidden by the view are not queried
+    public Stream<UserDto> getUsersInRange(Integer offset, Integer count, Class<?> view, HttpServletResponse response) {
+        Slice<User> users = userService.getByRange(offset, count);
+
+        response.setHeader(Headers.HAS_MORE, String.valueOf(users.hasNext()));
+
+        return userMapper
+                .toDtos(users.getContent(), view)
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "after")
+    @JsonView(Views.ForEvery.class)
+    public Stream<UserDto> getUsersAfter(
+            @RequestParam String after,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        KeysetCursor cursor;
+        try {
+            cursor = KeysetCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor - " + e.getMessage());
+        }
+
+        Slice<User> users = userService.getAfter(cursor, count);
+
+        if (users.hasNext()) {
+            User last = users.getContent().get(users.getNumberOfElements() - 1);
+            response.setHeader(Headers.NEXT_CURSOR, KeysetCursor.of(last).encode());
+        }
+
+        return userMapper
+                .toDtos(users.getContent(), Views.ForEvery.class)
+                .stream();
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForEvery.class)
+    public Stream<UserDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return getUsersByIds(ids, Views.ForEvery.class);
+    }
+
+    public Stream<UserDto> getUsersByIds(List<Long> ids, Class<?> view) {
+        if (ids.size() > maxIds)
+            throw new BadRequestException("Too many ids - at most " + maxIds + " can be requested at once");
+
+        return userMapper
+                .toDtos(userService.getByIds(ids), view)
+                .stream();
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForEvery.class)
     public UserDto getUserById(@PathVariable("id") Long userId) {
+        return getUserById(userId, Views.ForEvery.class);
+    }
+
+    public UserDto getUserById(Long userId, Class<?> view) {
         try {
-            return userMapper.toDto(userService.getById(userId));
+            return userMapper.toDto(userService.getById(userId), view);
         } catch (UserNotFoundException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -52,10 +119,9 @@ public class UserController {
     @JsonView(Views.ForEvery.class)
     public Stream<CommentDto> getCommentsOfUser(@PathVariable("id") Long userId) {
         try {
-            return userService
-                    .getCommentsOfUser(userId)
-                    .stream()
-                    .map(comment -> commentMapper.toDto(comment));
+            return commentMapper
+                    .toDtos(userService.getCommentsOfUser(userId))
+                    .stream();
         } catch (UserNotFoundException e) {
             throw new NotFoundException(e.getMessage());
         }
@@ -16,6 +16,9 @@ import net.onlinelibrary.service.AuthorService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -40,25 +43,37 @@ public class AdminAuthorController {
     @GetMapping("{id}")
     @JsonView(Views.ForAdmin.class)
     public AuthorDto getAuthorById(@PathVariable("id") Long authorId) {
-        return authorController.getAuthorById(authorId);
+        return authorController.getAuthorById(authorId, Views.ForAdmin.class);
     }
 
     @GetMapping("")
     @JsonView(Views.ForAdmin.class)
-    public Stream<AuthorDto> getAuthorsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return authorController.getAuthorsInRange(offset, count);
+    public Stream<AuthorDto> getAuthorsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response) {
+        return fields == null
+                ? authorController.getAuthorsInRange(offset, count, Views.ForAdmin.class, response)
+                : authorController.getAuthorsInRange(offset, count, fields, Views.ForAdmin.class, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForAdmin.class)
+    public Stream<AuthorDto> getAuthorsByIds(@RequestParam List<Long> ids) {
+        return authorController.getAuthorsByIds(ids, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/books")
     @JsonView(Views.ForAdmin.class)
     public Stream<BookDto> getBooksOfAuthor(@PathVariable("id") Long authorId) {
-        return authorController.getBooksOfAuthor(authorId);
+        return authorController.getBooksOfAuthor(authorId, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/genres")
     @JsonView(Views.ForAdmin.class)
     public Stream<GenreDto> getGenresOfAuthor(@PathVariable("id") Long authorId) {
-        return authorController.getGenresOfAuthor(authorId);
+        return authorController.getGenresOfAuthor(authorId, Views.ForAdmin.class);
     }
 
     @GetMapping("count")
@@ -73,7 +88,7 @@ public class AdminAuthorController {
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String middleName,
             @RequestParam(required = false) String lastName) {
-        return authorController.search(firstName, middleName, lastName);
+        return authorController.search(firstName, middleName, lastName, Views.ForAdmin.class);
     }
 
     @PostMapping("")
@@ -2,6 +2,7 @@ package net.onlinelibrary.rest.admin;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.BookDetailsDto;
 import net.onlinelibrary.dto.BookDto;
 import net.onlinelibrary.dto.CommentDto;
 import net.onlinelibrary.dto.GenreDto;
@@ -14,9 +15,16 @@ import net.onlinelibrary.mapper.implementation.BookMapper;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.rest.BookController;
 import net.onlinelibrary.service.BookService;
+import net.onlinelibrary.service.ImportService;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -24,42 +32,67 @@ import java.util.stream.Stream;
 @RequestMapping("api/admin/books")
 @PreAuthorize("hasAuthority('ADMIN')")
 public class AdminBookController {
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final BookService bookService;
+    private final ImportService importService;
 
     private final BookMapper bookMapper;
     private final BookController bookController;
 
     public AdminBookController(
             BookService bookService,
+            ImportService importService,
             BookMapper bookMapper,
             BookController bookController) {
         this.bookService = bookService;
+        this.importService = importService;
         this.bookMapper = bookMapper;
         this.bookController = bookController;
     }
 
     @GetMapping("")
     @JsonView(Views.ForAdmin.class)
-    public Stream<BookDto> getBooksInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return bookController.getBooksInRange(offset, count);
+    public Stream<BookDto> getBooksInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response) {
+        return fields == null
+                ? bookController.getBooksInRange(offset, count, Views.ForAdmin.class, response)
+                : bookController.getBooksInRange(offset, count, fields, Views.ForAdmin.class, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForAdmin.class)
+    public Stream<BookDto> getBooksByIds(@RequestParam List<Long> ids) {
+        return bookController.getBooksByIds(ids, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForAdmin.class)
     public BookDto getBookById(@PathVariable("id") Long bookId) {
-        return bookController.getBookById(bookId);
+        return bookController.getBookById(bookId, Views.ForAdmin.class);
+    }
+
+    @GetMapping("{id}/details")
+    @JsonView(Views.ForAdmin.class)
+    public BookDetailsDto getBookDetails(
+            @PathVariable("id") Long bookId,
+            @RequestParam(defaultValue = "20") Integer comments) {
+        return bookController.getBookDetails(bookId, comments, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/authors")
     @JsonView(Views.ForAdmin.class)
     public Stream<AuthorDto> getAuthorsOfBook(@PathVariable("id") Long bookId) {
-        return bookController.getAuthorsOfBook(bookId);
+        return bookController.getAuthorsOfBook(bookId, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/genres")
     @JsonView(Views.ForAdmin.class)
     public Stream<GenreDto> getGenresOfBook(@PathVariable("id") Long bookId) {
-        return bookController.getGenresOfBook(bookId);
+        return bookController.getGenresOfBook(bookId, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/comments")
@@ -86,6 +119,15 @@ public class AdminBookController {
         }
     }
 
+    @PostMapping(
+            value = "bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE},
+            produces = NDJSON_VALUE)
+    public void saveBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        importService.importBooks(request.getInputStream(), response.getOutputStream());
+    }
+
     @PutMapping("{id}")
     @JsonView(Views.ForAdmin.class)
     public BookDto fullUpdateBook(@PathVariable("id") Long bookId, @RequestBody BookDto dto) {
@@ -0,0 +1,25 @@
+package net.onlinelibrary.rest.admin;
+
+import net.onlinelibrary.service.CacheService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/admin/cache")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class AdminCacheController {
+    private final CacheService cacheService;
+
+    public AdminCacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("statistics")
+    public Map<String, Map<String, Number>> getStatistics() {
+        return cacheService.getStatistics();
+    }
+}
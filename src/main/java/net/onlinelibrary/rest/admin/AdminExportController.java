@@ -0,0 +1,68 @@
+package net.onlinelibrary.rest.admin;
+
+import net.onlinelibrary.service.ExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("api/admin/export")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class AdminExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    public AdminExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("books")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("books", gzip, exportService::exportBooks);
+    }
+
+    @GetMapping("authors")
+    public ResponseEntity<StreamingResponseBody> exportAuthors(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("authors", gzip, exportService::exportAuthors);
+    }
+
+    @GetMapping("genres")
+    public ResponseEntity<StreamingResponseBody> exportGenres(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("genres", gzip, exportService::exportGenres);
+    }
+
+    @GetMapping("comments")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("comments", gzip, exportService::exportComments);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, boolean gzip, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + ".ndjson\"");
+
+        if (!gzip)
+            return response.body(body);
+
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192, true);
+                    body.writeTo(gzipOut);
+                    gzipOut.finish();
+                });
+    }
+}
@@ -16,6 +16,9 @@ import net.onlinelibrary.service.GenreService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -39,26 +42,38 @@ public class AdminGenreController {
 
     @GetMapping("")
     @JsonView(Views.ForAdmin.class)
-    public Stream<GenreDto> getGenresInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return genreController.getGenresInRange(offset, count);
+    public Stream<GenreDto> getGenresInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            @RequestParam(required = false) String fields,
+            HttpServletResponse response) {
+        return fields == null
+                ? genreController.getGenresInRange(offset, count, Views.ForAdmin.class, response)
+                : genreController.getGenresInRange(offset, count, fields, Views.ForAdmin.class, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForAdmin.class)
+    public Stream<GenreDto> getGenresByIds(@RequestParam List<Long> ids) {
+        return genreController.getGenresByIds(ids, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForAdmin.class)
     public GenreDto getGenreById(@PathVariable("id") Long genreId) {
-        return genreController.getGenreById(genreId);
+        return genreController.getGenreById(genreId, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/books")
     @JsonView(Views.ForAdmin.class)
     public Stream<BookDto> getBooksOfGenre(@PathVariable("id") Long genreId) {
-        return genreController.getBooksOfGenre(genreId);
+        return genreController.getBooksOfGenre(genreId, Views.ForAdmin.class);
     }
 
     @GetMapping("{id}/authors")
     @JsonView(Views.ForAdmin.class)
     public Stream<AuthorDto> getAuthorsOfGenre(@PathVariable("id") Long genreId) {
-        return genreController.getAuthorsOfGenre(genreId);
+        return genreController.getAuthorsOfGenre(genreId, Views.ForAdmin.class);
     }
 
     @GetMapping("count")
@@ -70,7 +85,7 @@ public class AdminGenreController {
     @GetMapping("search")
     @JsonView(Views.ForAdmin.class)
     public Stream<GenreDto> searchBy(@RequestParam("name") String genreStartsWith) {
-        return genreController.searchBy(genreStartsWith);
+        return genreController.searchBy(genreStartsWith, Views.ForAdmin.class);
     }
 
     @PostMapping("")
@@ -16,6 +16,9 @@ import net.onlinelibrary.service.CommentService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -39,8 +42,17 @@ public class ModeratorCommentController {
 
     @GetMapping("")
     @JsonView(Views.ForModerator.class)
-    public Stream<CommentDto> getCommentsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return commentController.getCommentsInRange(offset, count);
+    public Stream<CommentDto> getCommentsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return commentController.getCommentsInRange(offset, count, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForModerator.class)
+    public Stream<CommentDto> getCommentsByIds(@RequestParam List<Long> ids) {
+        return commentController.getCommentsByIds(ids);
     }
 
     @GetMapping("{id}")
@@ -52,13 +64,21 @@ public class ModeratorCommentController {
     @GetMapping("{id}/book")
     @JsonView(Views.ForModerator.class)
     public BookDto getBookOfComment(@PathVariable("id") Long commentId) {
-        return commentController.getBookOfComment(commentId);
+        return getBookOfComment(commentId, Views.ForModerator.class);
+    }
+
+    public BookDto getBookOfComment(Long commentId, Class<?> view) {
+        return commentController.getBookOfComment(commentId, view);
     }
 
     @GetMapping("{id}/user")
     @JsonView(Views.ForModerator.class)
     public UserDto getUserOfComment(@PathVariable("id") Long commentId) {
-        return commentController.getUserOfComment(commentId);
+        return getUserOfComment(commentId, Views.ForModerator.class);
+    }
+
+    public UserDto getUserOfComment(Long commentId, Class<?> view) {
+        return commentController.getUserOfComment(commentId, view);
     }
 
     @GetMapping("count")
@@ -16,6 +16,9 @@ import net.onlinelibrary.service.CommentService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -39,8 +42,17 @@ public class SuperAdminCommentController {
 
     @GetMapping("")
     @JsonView(Views.ForSuperAdmin.class)
-    public Stream<CommentDto> getCommentsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return moderatorCommentController.getCommentsInRange(offset, count);
+    public Stream<CommentDto> getCommentsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return moderatorCommentController.getCommentsInRange(offset, count, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForSuperAdmin.class)
+    public Stream<CommentDto> getCommentsByIds(@RequestParam List<Long> ids) {
+        return moderatorCommentController.getCommentsByIds(ids);
     }
 
     @GetMapping("{id}")
@@ -52,13 +64,13 @@ public class SuperAdminCommentController {
     @GetMapping("{id}/book")
     @JsonView(Views.ForSuperAdmin.class)
     public BookDto getBookOfComment(@PathVariable("id") Long commentId) {
-        return moderatorCommentController.getBookOfComment(commentId);
+        return moderatorCommentController.getBookOfComment(commentId, Views.ForSuperAdmin.class);
     }
 
     @GetMapping("{id}/user")
     @JsonView(Views.ForSuperAdmin.class)
     public UserDto getUserOfComment(@PathVariable("id") Long commentId) {
-        return moderatorCommentController.getUserOfComment(commentId);
+        return moderatorCommentController.getUserOfComment(commentId, Views.ForSuperAdmin.class);
     }
 
     @GetMapping("count")
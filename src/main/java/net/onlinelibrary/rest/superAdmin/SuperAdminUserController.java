@@ -12,12 +12,17 @@ import net.onlinelibrary.mapper.implementation.UserMapper;
 import net.onlinelibrary.model.Role;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.rest.UserController;
+import net.onlinelibrary.service.PasswordHashingService;
 import net.onlinelibrary.service.UserService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 @RestController
@@ -25,29 +30,41 @@ import java.util.stream.Stream;
 @PreAuthorize("hasAuthority('SUPER_ADMIN')")
 public class SuperAdminUserController {
     private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
 
     private final UserMapper userMapper;
     private final UserController userController;
 
     public SuperAdminUserController(
             UserService userService,
+            PasswordHashingService passwordHashingService,
             UserMapper userMapper,
             UserController userController) {
         this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
         this.userMapper = userMapper;
         this.userController = userController;
     }
 
     @GetMapping("")
     @JsonView(Views.ForSuperAdmin.class)
-    public Stream<UserDto> getUsersInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return userController.getUsersInRange(offset, count);
+    public Stream<UserDto> getUsersInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return userController.getUsersInRange(offset, count, Views.ForSuperAdmin.class, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForSuperAdmin.class)
+    public Stream<UserDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return userController.getUsersByIds(ids, Views.ForSuperAdmin.class);
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForSuperAdmin.class)
     public UserDto getUserById(@PathVariable("id") Long userId) {
-        return userController.getUserById(userId);
+        return userController.getUserById(userId, Views.ForSuperAdmin.class);
     }
 
     @GetMapping("{id}/comments")
@@ -74,14 +91,17 @@ public class SuperAdminUserController {
 
     @PostMapping("")
     @JsonView(Views.ForSuperAdmin.class)
-    public UserDto saveUser(@RequestBody UserDto dto) {
+    public CompletableFuture<UserDto> saveUser(@RequestBody UserDto dto) {
         User user = userMapper.toEntity(dto);
-        try {
-            User savedUser = userService.saveNewUser(user);
-            return userMapper.toDto(savedUser);
-        } catch (ValidationException e) {
-            throw new BadRequestException("Validation failure - " + e.getMessage());
-        }
+        return passwordHashingService.encode(user.getPassword())
+                .thenApply(encodedPassword -> {
+                    try {
+                        User savedUser = userService.saveNewUser(user, encodedPassword);
+                        return userMapper.toDto(savedUser);
+                    } catch (ValidationException e) {
+                        throw new BadRequestException("Validation failure - " + e.getMessage());
+                    }
+                });
     }
 
     @PutMapping("{id}")
@@ -128,15 +148,18 @@ public class SuperAdminUserController {
 
     @PatchMapping("{id}/password")
     @JsonView(Views.ForSuperAdmin.class)
-    public UserDto updatePassword(@PathVariable("id") Long userId, @RequestBody UserDto dto) {
-        try {
-            User updatedUser = userService.updatePassword(userId, dto.getPassword());
-            return userMapper.toDto(updatedUser);
-        } catch (UserNotFoundException e) {
-            throw new NotFoundException(e.getMessage());
-        } catch (ValidationException e) {
-            throw new BadRequestException("Validation failure - " + e.getMessage());
-        }
+    public CompletableFuture<UserDto> updatePassword(@PathVariable("id") Long userId, @RequestBody UserDto dto) {
+        return passwordHashingService.encode(dto.getPassword())
+                .thenApply(encodedPassword -> {
+                    try {
+                        User updatedUser = userService.updatePassword(userId, dto.getPassword(), encodedPassword);
+                        return userMapper.toDto(updatedUser);
+                    } catch (UserNotFoundException e) {
+                        throw new NotFoundException(e.getMessage());
+                    } catch (ValidationException e) {
+                        throw new BadRequestException("Validation failure - " + e.getMessage());
+                    }
+                });
     }
 
     @PatchMapping("{id}/username")
@@ -6,7 +6,6 @@ import net.onlinelibrary.dto.CommentDto;
 import net.onlinelibrary.dto.UserDto;
 import net.onlinelibrary.dto.view.Views;
 import net.onlinelibrary.exception.CommentException;
-import net.onlinelibrary.exception.UserNotFoundException;
 import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.exception.withResponseStatus.BadRequestException;
 import net.onlinelibrary.exception.withResponseStatus.ForbiddenException;
@@ -15,13 +14,15 @@ import net.onlinelibrary.mapper.implementation.CommentMapper;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.rest.CommentController;
+import net.onlinelibrary.security.jwt.JwtUserDetails;
 import net.onlinelibrary.service.CommentService;
-import net.onlinelibrary.service.UserService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -32,24 +33,30 @@ public class UserCommentController {
     private final CommentService commentService;
 
     private final CommentMapper commentMapper;
-    private final UserService userService;
     private final CommentController commentController;
 
     public UserCommentController(
             CommentService commentService,
             CommentMapper commentMapper,
-            UserService userService,
             CommentController commentController) {
         this.commentService = commentService;
         this.commentMapper = commentMapper;
-        this.userService = userService;
         this.commentController = commentController;
     }
 
     @GetMapping("")
     @JsonView(Views.ForUser.class)
-    public Stream<CommentDto> getCommentsInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return commentController.getCommentsInRange(offset, count);
+    public Stream<CommentDto> getCommentsInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return commentController.getCommentsInRange(offset, count, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForUser.class)
+    public Stream<CommentDto> getCommentsByIds(@RequestParam List<Long> ids) {
+        return commentController.getCommentsByIds(ids);
     }
 
     @GetMapping("{id}")
@@ -61,13 +68,13 @@ public class UserCommentController {
     @GetMapping("{id}/book")
     @JsonView(Views.ForUser.class)
     public BookDto getBookOfComment(@PathVariable("id") Long commentId) {
-        return commentController.getBookOfComment(commentId);
+        return commentController.getBookOfComment(commentId, Views.ForUser.class);
     }
 
     @GetMapping("{id}/user")
     @JsonView(Views.ForUser.class)
     public UserDto getUserOfComment(@PathVariable("id") Long commentId) {
-        return commentController.getUserOfComment(commentId);
+        return commentController.getUserOfComment(commentId, Views.ForUser.class);
     }
 
     @GetMapping("count")
@@ -123,29 +130,20 @@ public class UserCommentController {
             throw new NotFoundException(e.getMessage());
         }
 
-        User authorizedUser = getAuthorizedUser();
-
-        if (!authorizedUser.getId().equals(userWithComment.getId()))
+        if (!getAuthorizedUserId().equals(userWithComment.getId()))
             throw new ForbiddenException("You do not have access to change comment");
     }
 
     private void checkAccessRightsToAddComment(Long userId) {
-        User authorizedUser = getAuthorizedUser();
-
-        if (!authorizedUser.getId().equals(userId))
+        if (!getAuthorizedUserId().equals(userId))
             throw new ForbiddenException("You must add comment from yourself");
     }
 
-    private User getAuthorizedUser() {
-        String authorizedUsername = ((UserDetails) SecurityContextHolder
+    private Long getAuthorizedUserId() {
+        return ((JwtUserDetails) SecurityContextHolder
                 .getContext()
                 .getAuthentication()
                 .getPrincipal())
-                .getUsername();
-        try {
-            return userService.getByUsername(authorizedUsername);
-        } catch (UserNotFoundException e) {
-            throw new NotFoundException(e.getMessage());
-        }
+                .getId();
     }
 }
@@ -12,13 +12,18 @@ import net.onlinelibrary.exception.withResponseStatus.NotFoundException;
 import net.onlinelibrary.mapper.implementation.UserMapper;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.rest.UserController;
+import net.onlinelibrary.service.PasswordHashingService;
+import net.onlinelibrary.security.jwt.JwtUserDetails;
 import net.onlinelibrary.service.UserService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 @RestController
@@ -26,29 +31,41 @@ import java.util.stream.Stream;
 @PreAuthorize("hasAuthority('USER')")
 public class UserUserController {
     private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
 
     private final UserMapper userMapper;
     private final UserController userController;
 
     public UserUserController(
             UserService userService,
+            PasswordHashingService passwordHashingService,
             UserMapper userMapper,
             UserController userController) {
         this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
         this.userMapper = userMapper;
         this.userController = userController;
     }
 
     @GetMapping("")
     @JsonView(Views.ForUser.class)
-    public Stream<UserDto> getUsersInRange(@RequestParam Integer offset, @RequestParam Integer count) {
-        return userController.getUsersInRange(offset, count);
+    public Stream<UserDto> getUsersInRange(
+            @RequestParam Integer offset,
+            @RequestParam Integer count,
+            HttpServletResponse response) {
+        return userController.getUsersInRange(offset, count, Views.ForUser.class, response);
+    }
+
+    @GetMapping(value = "", params = "ids")
+    @JsonView(Views.ForUser.class)
+    public Stream<UserDto> getUsersByIds(@RequestParam List<Long> ids) {
+        return userController.getUsersByIds(ids, Views.ForUser.class);
     }
 
     @GetMapping("{id}")
     @JsonView(Views.ForUser.class)
     public UserDto getUserById(@PathVariable("id") Long userId) {
-        return userController.getUserById(userId);
+        return userController.getUserById(userId, Views.ForUser.class);
     }
 
     @GetMapping("{id}/comments")
@@ -65,16 +82,19 @@ public class UserUserController {
 
     @PatchMapping("{id}/password")
     @JsonView(Views.ForUser.class)
-    public UserDto updatePassword(@PathVariable("id") Long userId, @RequestBody UserDto dto) {
+    public CompletableFuture<UserDto> updatePassword(@PathVariable("id") Long userId, @RequestBody UserDto dto) {
         checkAccessRightsToModifyUserBy(userId);
-        try {
-            User updatedUser = userService.updatePassword(userId, dto.getPassword());
-            return userMapper.toDto(updatedUser);
-        } catch (UserNotFoundException e) {
-            throw new NotFoundException(e.getMessage());
-        } catch (ValidationException e) {
-            throw new BadRequestException("Validation failure - " + e.getMessage());
-        }
+        return passwordHashingService.encode(dto.getPassword())
+                .thenApply(encodedPassword -> {
+                    try {
+                        User updatedUser = userService.updatePassword(userId, dto.getPassword(), encodedPassword);
+                        return userMapper.toDto(updatedUser, Views.ForUser.class);
+                    } catch (UserNotFoundException e) {
+                        throw new NotFoundException(e.getMessage());
+                    } catch (ValidationException e) {
+                        throw new BadRequestException("Validation failure - " + e.getMessage());
+                    }
+                });
     }
 
     @PatchMapping("{id}/username")
@@ -83,7 +103,7 @@ public class UserUserController {
         checkAccessRightsToModifyUserBy(userId);
         try {
             User updatedUser = userService.updateUsername(userId, dto.getUsername());
-            return userMapper.toDto(updatedUser);
+            return userMapper.toDto(updatedUser, Views.ForUser.class);
         } catch (UserNotFoundException e) {
             throw new NotFoundException(e.getMessage());
         } catch (ValidationException e) {
@@ -97,7 +117,7 @@ public class UserUserController {
         checkAccessRightsToModifyUserBy(userId);
         try {
             User updatedUser = userService.updateEmail(userId, dto.getEmail());
-            return userMapper.toDto(updatedUser);
+            return userMapper.toDto(updatedUser, Views.ForUser.class);
         } catch (UserNotFoundException e) {
             throw new NotFoundException(e.getMessage());
         } catch (ValidationException e) {
@@ -117,20 +137,13 @@ public class UserUserController {
     }
 
     private void checkAccessRightsToModifyUserBy(Long userId) {
-        String authorizedUsername = ((UserDetails) SecurityContextHolder
+        Long authorizedUserId = ((JwtUserDetails) SecurityContextHolder
                 .getContext()
                 .getAuthentication()
                 .getPrincipal())
-                .getUsername();
-
-        User user = null;
-        try {
-            user = userService.getByUsername(authorizedUsername);
-        } catch (UserNotFoundException e) {
-            throw new NotFoundException(e.getMessage());
-        }
+                .getId();
 
-        if (!user.getId().equals(userId))
+        if (!authorizedUserId.equals(userId))
             throw new ForbiddenException("You do not have access to modify user");
     }
 }
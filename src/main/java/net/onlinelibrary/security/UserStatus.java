@@ -0,0 +1,14 @@
+package net.onlinelibrary.security;
+
+import lombok.Data;
+import net.onlinelibrary.model.Role;
+
+import java.util.Set;
+
+@Data
+public class UserStatus {
+    private final Long id;
+    private final String username;
+    private final boolean active;
+    private final Set<Role> roles;
+}
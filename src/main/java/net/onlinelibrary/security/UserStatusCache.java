@@ -0,0 +1,52 @@
+package net.onlinelibrary.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.repository.UserRepository;
+import net.onlinelibrary.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class UserStatusCache {
+    private final UserRepository userRepo;
+    private final LoadingCache<Long, UserStatus> statuses;
+
+    public UserStatusCache(
+            UserRepository userRepo,
+            @Value("${jwt.user-status.ttl}") long ttlInMilliseconds,
+            @Value("${jwt.user-status.cache-size}") long cacheSize) {
+        this.userRepo = userRepo;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(ttlInMilliseconds, TimeUnit.MILLISECONDS)
+                .maximumSize(cacheSize)
+                .build(this::load);
+    }
+
+    public UserStatus get(Long userId) {
+        return statuses.get(userId);
+    }
+
+    // a status reloaded before the write commits would be stale, so the entry is dropped after the commit
+    public void invalidate(Long userId) {
+        TransactionCallbacks.afterCommit(() -> statuses.invalidate(userId));
+    }
+
+    private UserStatus load(Long userId) {
+        UserStatus status = userRepo
+                .findById(userId)
+                .map(user -> new UserStatus(
+                        user.getId(),
+                        user.getUsername(),
+                        Boolean.TRUE.equals(user.getActive()),
+                        new HashSet<>(user.getRoles())))
+                .orElse(null);
+        log.info("IN load - status of user with id " + userId + (status == null ? " not found" : " loaded"));
+        return status;
+    }
+}
@@ -1,7 +1,12 @@
 package net.onlinelibrary.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import net.onlinelibrary.model.Role;
+import net.onlinelibrary.security.UserStatus;
+import net.onlinelibrary.security.UserStatusCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,7 +17,11 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,16 +33,50 @@ public class JwtTokenProvider {
     @Value("${jwt.token.expired}")
     private long validityInMilliseconds;
 
+    @Value("${jwt.token.cache-size}")
+    private long verifiedClaimsCacheSize;
+
+    @Value("${jwt.authentication.claims-only}")
+    private boolean claimsOnlyAuthentication;
+
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedClaims;
+
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
     @PostConstruct
     protected void init() {
         secret = Base64.getEncoder().encodeToString(secret.getBytes());
+        parser = Jwts.parser().setSigningKey(secret);
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(verifiedClaimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String createToken(String username, Set<Role> roles) {
+    public String createToken(Long userId, String username, Set<Role> roles) {
         Claims claims = Jwts.claims().setSubject(username);
+        claims.put("id", userId);
         claims.put("roles", getRoleNames(roles));
 
         Date now = new Date();
@@ -47,19 +90,17 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(getUsername(token));
+    public Authentication getAuthentication(Claims claims) {
+        UserDetails userDetails = claimsOnlyAuthentication && claims.get("id") != null
+                ? getUserDetailsFromClaims(claims)
+                : this.userDetailsService.loadUserByUsername(claims.getSubject());
 
-        if (userDetails == null)
+        if (userDetails == null || !userDetails.isEnabled())
             return null;
 
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
-    public String getUsername(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().getSubject();
-    }
-
     public String resolveToken(HttpServletRequest req) {
         String bearerToken = req.getHeader("Authorization");
 
@@ -69,18 +110,34 @@ public class JwtTokenProvider {
         return null;
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jws<Claims> claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
+    public Claims getVerifiedClaims(String token) {
+        String digest = digest(token);
 
-            if (claims.getBody().getExpiration().before(new Date())) {
-                return false;
-            }
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if (claims != null)
+            return claims;
 
-            return true;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
+
+        if (claims.getExpiration() == null)
+            return null;
+
+        verifiedClaims.put(digest, claims);
+        return claims;
+    }
+
+    private UserDetails getUserDetailsFromClaims(Claims claims) {
+        Long userId = ((Number) claims.get("id")).longValue();
+
+        UserStatus status = userStatusCache.get(userId);
+        if (status == null)
+            return null;
+
+        return new JwtUserDetails(userId, status.getUsername(), "", status.isActive(), status.getRoles());
     }
 
     private List<String> getRoleNames(Set<Role> userRoles) {
@@ -89,4 +146,13 @@ public class JwtTokenProvider {
                 .map(role -> role.name())
                 .collect(Collectors.toList());
     }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
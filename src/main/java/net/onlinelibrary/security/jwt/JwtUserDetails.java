@@ -12,15 +12,31 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 public class JwtUserDetails implements UserDetails {
-    private final User user;
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final boolean active;
+    private final Set<Role> roles;
 
     public JwtUserDetails(User user) {
-        this.user = user;
+        this(user.getId(), user.getUsername(), user.getPassword(), Boolean.TRUE.equals(user.getActive()), user.getRoles());
+    }
+
+    public JwtUserDetails(Long id, String username, String password, boolean active, Set<Role> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.active = active;
+        this.roles = roles;
+    }
+
+    public Long getId() {
+        return id;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -40,17 +56,17 @@ public class JwtUserDetails implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return mapToGrantedAuthorities(user.getRoles());
+        return mapToGrantedAuthorities(roles);
     }
 
     @Override
     public boolean isEnabled() {
-        return user.getActive();
+        return active;
     }
 
     private List<GrantedAuthority> mapToGrantedAuthorities(Set<Role> userRoles) {
@@ -5,15 +5,24 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.data.domain.Slice;
 
 import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
 
 public interface AuthorService {
-    List<Author> getByRange(Integer offset, Integer count);
+    Slice<Author> getByRange(Integer offset, Integer count);
+
+    Slice<Author> getByRange(Integer offset, Integer count, Set<String> fields);
+
+    Slice<Author> getAfter(KeysetCursor cursor, Integer count);
 
     Author getById(Long authorId) throws AuthorException;
 
+    List<Author> getByIds(List<Long> authorIds);
+
     List<Book> getBooksOfAuthor(Long authorId) throws AuthorException;
 
     List<Genre> getGenresOfAuthor(Long authorId) throws AuthorException;
@@ -26,5 +35,7 @@ public interface AuthorService {
 
     Long getAuthorsCount();
 
+    Long getAuthorsVersion();
+
     List<Author> searchBy(String firstName, String middleName, String lastName);
 }
@@ -0,0 +1,8 @@
+package net.onlinelibrary.service;
+
+import net.onlinelibrary.dto.BookDetailsDto;
+import net.onlinelibrary.exception.BookException;
+
+public interface BookDetailsService {
+    BookDetailsDto getDetails(Long bookId, Integer commentsCount, Class<?> view) throws BookException;
+}
@@ -6,15 +6,24 @@ import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Set;
 
 public interface BookService {
 
-    List<Book> getByRange(Integer offset, Integer count);
+    Slice<Book> getByRange(Integer offset, Integer count);
+
+    Slice<Book> getByRange(Integer offset, Integer count, Set<String> fields);
+
+    Slice<Book> getAfter(KeysetCursor cursor, Integer count);
 
     Book getById(Long bookId) throws BookException;
 
+    List<Book> getByIds(List<Long> bookIds);
+
     List<Author> getAuthorsOfBook(Long bookId) throws BookException;
 
     List<Genre> getGenresOfBook(Long bookId) throws BookException;
@@ -28,4 +37,6 @@ public interface BookService {
     void deleteById(Long bookId) throws BookException;
 
     Long getBooksCount();
+
+    Long getBooksVersion();
 }
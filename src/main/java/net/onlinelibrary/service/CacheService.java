@@ -0,0 +1,15 @@
+package net.onlinelibrary.service;
+
+import net.onlinelibrary.model.BaseEntity;
+
+import java.util.Map;
+
+public interface CacheService {
+    void evictAssociationsOf(Class<? extends BaseEntity> type);
+
+    void evictRenderedResponses(Class<? extends BaseEntity> type);
+
+    void evictAll();
+
+    Map<String, Map<String, Number>> getStatistics();
+}
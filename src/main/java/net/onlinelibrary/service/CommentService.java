@@ -5,14 +5,20 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.User;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface CommentService {
-    List<Comment> getByRange(Integer offset, Integer count);
+    Slice<Comment> getByRange(Integer offset, Integer count);
+
+    Slice<Comment> getAfter(KeysetCursor cursor, Integer count);
 
     Comment getById(Long commentId) throws CommentException;
 
+    List<Comment> getByIds(List<Long> commentIds);
+
     Book getBookOfComment(Long commentId) throws CommentException;
 
     User getUserOfComment(Long commentId) throws CommentException;
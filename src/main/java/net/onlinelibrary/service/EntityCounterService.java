@@ -0,0 +1,15 @@
+package net.onlinelibrary.service;
+
+import net.onlinelibrary.model.BaseEntity;
+
+public interface EntityCounterService {
+    long getCount(Class<? extends BaseEntity> type);
+
+    void onSaved(Class<? extends BaseEntity> type);
+
+    void onSaved(Class<? extends BaseEntity> type, long count);
+
+    void onDeleted(Class<? extends BaseEntity> type);
+
+    void reconcile();
+}
@@ -0,0 +1,11 @@
+package net.onlinelibrary.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    void exportBooks(OutputStream out) throws IOException;
+    void exportAuthors(OutputStream out) throws IOException;
+    void exportGenres(OutputStream out) throws IOException;
+    void exportComments(OutputStream out) throws IOException;
+}
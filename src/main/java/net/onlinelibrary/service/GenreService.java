@@ -5,15 +5,21 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public interface GenreService {
-    List<Genre> getByRange(Integer offset, Integer count);
+    Slice<Genre> getByRange(Integer offset, Integer count);
+
+    Slice<Genre> getByRange(Integer offset, Integer count, Set<String> fields);
 
     Genre getById(Long genreId) throws GenreException;
 
+    List<Genre> getByIds(List<Long> genreIds);
+
     List<Book> getBooksOfGenre(Long genreId) throws GenreException;
 
     List<Author> getAuthorsOfGenre(Long genreId) throws GenreException;
@@ -26,5 +32,7 @@ public interface GenreService {
 
     Long getGenresCount();
 
+    Long getGenresVersion();
+
     List<Genre> searchBySubStr(String subStr);
 }
@@ -0,0 +1,9 @@
+package net.onlinelibrary.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ImportService {
+    void importBooks(InputStream in, OutputStream out) throws IOException;
+}
@@ -0,0 +1,11 @@
+package net.onlinelibrary.service;
+
+import java.util.concurrent.CompletableFuture;
+
+// the pool runs nothing but the hash itself; the returned futures complete on the application task executor,
+// so validation, persistence and mapping chained onto them never occupy a hashing thread
+public interface PasswordHashingService {
+    CompletableFuture<String> encode(String rawPassword);
+
+    CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword);
+}
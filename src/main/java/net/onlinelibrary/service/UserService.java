@@ -5,24 +5,30 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Role;
 import net.onlinelibrary.model.User;
+import net.onlinelibrary.util.KeysetCursor;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Set;
 
 public interface UserService {
-    List<User> getByRange(Integer offset, Integer count);
+    Slice<User> getByRange(Integer offset, Integer count);
+
+    Slice<User> getAfter(KeysetCursor cursor, Integer count);
 
     User getById(Long userId) throws UserNotFoundException;
 
+    List<User> getByIds(List<Long> userIds);
+
     List<Comment> getCommentsOfUser(Long userId) throws UserNotFoundException;
 
     Set<Role> getRolesOfUser(Long userId) throws UserNotFoundException;
 
-    User saveNewUser(User user) throws ValidationException;
+    User saveNewUser(User user, String encodedPassword) throws ValidationException;
 
     User updateUserWithPasswordAndUsernameAndEmailExcluding(Long userId, User user) throws UserNotFoundException, ValidationException;
 
-    User updatePassword(Long userId, String newPassword) throws UserNotFoundException, ValidationException;
+    User updatePassword(Long userId, String newPassword, String encodedNewPassword) throws UserNotFoundException, ValidationException;
 
     User updateUsername(Long userId, String newUsername) throws UserNotFoundException, ValidationException;
 
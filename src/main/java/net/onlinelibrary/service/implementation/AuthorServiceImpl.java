@@ -7,49 +7,117 @@ import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
 import net.onlinelibrary.repository.AuthorRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
+import net.onlinelibrary.repository.EntityProjectionLoader;
+import net.onlinelibrary.repository.EntityVersionRepository;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
 import net.onlinelibrary.service.AuthorService;
 import net.onlinelibrary.substitute.implementation.AuthorPropertiesSubstitute;
+import net.onlinelibrary.util.KeysetCursor;
 import net.onlinelibrary.util.NumberNormalizer;
+import net.onlinelibrary.util.OffsetPageRequest;
 import net.onlinelibrary.validator.implementation.AuthorValidator;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class AuthorServiceImpl implements AuthorService {
     private final AuthorRepository authorRepo;
+    private final EntityMultiLoader entityLoader;
+    private final EntityProjectionLoader projectionLoader;
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
     private final AuthorValidator authorValidator;
     private final AuthorPropertiesSubstitute authorPropsSubstitute;
+    private final EntityVersionRepository versionRepo;
 
     public AuthorServiceImpl(
             AuthorRepository authorRepo,
+            EntityMultiLoader entityLoader,
+            EntityProjectionLoader projectionLoader,
+            EntityCounterService counterService,
+            CacheService cacheService,
             AuthorValidator authorValidator,
-            AuthorPropertiesSubstitute authorPropsSubstitute) {
+            AuthorPropertiesSubstitute authorPropsSubstitute,
+            EntityVersionRepository versionRepo) {
         this.authorRepo = authorRepo;
+        this.entityLoader = entityLoader;
+        this.projectionLoader = projectionLoader;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
         this.authorValidator = authorValidator;
         this.authorPropsSubstitute = authorPropsSubstitute;
+        this.versionRepo = versionRepo;
     }
 
     @Override
-    public List<Author> getByRange(@NotNull Integer offset, @NotNull Integer count) {
-        List<Author> allAuthors = authorRepo.findAll();
+    @Transactional(readOnly = true)
+    public Slice<Author> getByRange(@NotNull Integer offset, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 authors");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Author> authorsInRange = authorRepo.findAllBy(new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
+
+        log.info("IN getByRange - found " + authorsInRange.getNumberOfElements() + " authors");
+
+        return authorsInRange;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Author> getByRange(@NotNull Integer offset, @NotNull Integer count, @NotNull Set<String> fields) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 authors");
+            return new SliceImpl<>(new ArrayList<>());
+        }
 
-        List<Author> authorsInRange = allAuthors.subList(
-                NumberNormalizer.normalize(offset, 0, allAuthors.size() == 0 ? 0 : allAuthors.size() - 1),
-                NumberNormalizer.normalize(offset + count, 0, allAuthors.size()));
+        Slice<Author> authorsInRange = projectionLoader.findAll(Author.class, fields, new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
 
-        log.info("IN getByRange - found " + authorsInRange.size() + " authors");
+        log.info("IN getByRange - found " + authorsInRange.getNumberOfElements() + " authors with fields " + fields);
 
         return authorsInRange;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Author> getAfter(KeysetCursor cursor, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getAfter - found 0 authors");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Author> authorsAfterCursor = cursor == null
+                ? authorRepo.findAllBy(PageRequest.of(0, count, Sort.by("createdDate", "id")))
+                : authorRepo.findAfter(cursor.getCreatedDate(), cursor.getId(), PageRequest.of(0, count));
+
+        log.info("IN getAfter - found " + authorsAfterCursor.getNumberOfElements() + " authors");
+
+        return authorsAfterCursor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Author getById(@NotNull Long authorId) throws AuthorException {
         Optional<Author> authorOpt = authorRepo.findById(authorId);
         if (!authorOpt.isPresent()) {
@@ -63,6 +131,15 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Author> getByIds(@NotNull List<Long> authorIds) {
+        List<Author> authors = entityLoader.findAllById(Author.class, authorIds);
+        log.info("IN getByIds - found " + authors.size() + " of " + authorIds.size() + " requested authors");
+        return authors;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Book> getBooksOfAuthor(@NotNull Long authorId) throws AuthorException {
         Optional<Author> authorOpt = authorRepo.findById(authorId);
         if (!authorOpt.isPresent()) {
@@ -76,6 +153,7 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Genre> getGenresOfAuthor(@NotNull Long authorId) throws AuthorException {
         Optional<Author> authorOpt = authorRepo.findById(authorId);
         if (!authorOpt.isPresent()) {
@@ -89,12 +167,14 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional
     public Author saveNewAuthor(@NotNull Author author) throws ValidationException {
         author.setId(null);
         author.setCreatedDate(new Date());
         author.setLastModifiedDate(new Date());
 
         author = authorPropsSubstitute.substitute(author);
+        attachAssociations(author);
 
         try {
             authorValidator.validate(author);
@@ -104,11 +184,16 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         Author savedAuthor = authorRepo.save(author);
+        versionRepo.increment(Author.class);
+        cacheService.evictAssociationsOf(Author.class);
+        counterService.onSaved(Author.class);
+        cacheService.evictRenderedResponses(Author.class);
         log.info("IN saveNewAuthor - author with id " + savedAuthor.getId() + " saved");
         return savedAuthor;
     }
 
     @Override
+    @Transactional
     public Author updateAuthor(@NotNull Long authorId, @NotNull Author author) throws AuthorException, ValidationException {
         Author authorFromRepo;
         try {
@@ -121,6 +206,7 @@ public class AuthorServiceImpl implements AuthorService {
         author.setId(authorFromRepo.getId());
         author.setCreatedDate(authorFromRepo.getCreatedDate());
         author.setLastModifiedDate(new Date());
+        attachAssociations(author);
 
         try {
             authorValidator.validate(author);
@@ -130,30 +216,46 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         Author savedAuthor = authorRepo.save(author);
+        versionRepo.increment(Author.class);
+        cacheService.evictAssociationsOf(Author.class);
+        cacheService.evictRenderedResponses(Author.class);
         log.info("IN updateAuthor - author with id " + savedAuthor.getId() + " updated");
         return savedAuthor;
     }
 
     @Override
+    @Transactional
     public void deleteById(@NotNull Long authorId) throws AuthorException {
-        try {
-            authorRepo.deleteById(authorId);
-            log.info("IN deleteById - author with id " + authorId + " deleted");
-        } catch (EmptyResultDataAccessException e) {
+        Optional<Author> authorOpt = authorRepo.findById(authorId);
+        if (!authorOpt.isPresent()) {
             AuthorException authorException = new AuthorException("Author with id \'" + authorId + "\' has not found");
             log.warn("IN deleteById - " + authorException.getMessage());
             throw authorException;
         }
+
+        authorRepo.delete(authorOpt.get());
+        versionRepo.increment(Author.class);
+        counterService.onDeleted(Author.class);
+        cacheService.evictAll();
+        log.info("IN deleteById - author with id " + authorId + " deleted");
     }
 
     @Override
     public Long getAuthorsCount() {
-        long count = authorRepo.count();
+        long count = counterService.getCount(Author.class);
         log.info("IN getAuthorsCount - total authors count = " + count);
         return count;
     }
 
     @Override
+    public Long getAuthorsVersion() {
+        long version = versionRepo.getVersion(Author.class);
+        log.info("IN getAuthorsVersion - authors version = " + version);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Author> searchBy(String firstName, String middleName, String lastName) {
         if (firstName != null && !firstName.isEmpty() &&
             middleName != null && !middleName.isEmpty() &&
@@ -167,4 +269,9 @@ public class AuthorServiceImpl implements AuthorService {
 
         return new ArrayList<>();
     }
+
+    private void attachAssociations(Author author) {
+        author.setBooks(entityLoader.getReferences(Book.class, author.getBooks()));
+        author.setGenres(entityLoader.getReferences(Genre.class, author.getGenres()));
+    }
 }
@@ -0,0 +1,97 @@
+package net.onlinelibrary.service.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.dto.BookDetailsDto;
+import net.onlinelibrary.dto.CommentDetailsDto;
+import net.onlinelibrary.exception.BookException;
+import net.onlinelibrary.mapper.implementation.AuthorMapper;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.CommentRepository;
+import net.onlinelibrary.service.BookDetailsService;
+import net.onlinelibrary.util.NumberNormalizer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class BookDetailsServiceImpl implements BookDetailsService {
+    private static final int MAX_COMMENTS_COUNT = 100;
+
+    private final BookRepository bookRepo;
+    private final CommentRepository commentRepo;
+
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final GenreMapper genreMapper;
+    private final CommentMapper commentMapper;
+
+    public BookDetailsServiceImpl(
+            BookRepository bookRepo,
+            CommentRepository commentRepo,
+            BookMapper bookMapper,
+            AuthorMapper authorMapper,
+            GenreMapper genreMapper,
+            CommentMapper commentMapper) {
+        this.bookRepo = bookRepo;
+        this.commentRepo = commentRepo;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.genreMapper = genreMapper;
+        this.commentMapper = commentMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookDetailsDto getDetails(
+            @NotNull Long bookId,
+            @NotNull Integer commentsCount,
+            @NotNull Class<?> view) throws BookException {
+        Book book = bookRepo.findById(bookId).orElse(null);
+        if (book == null) {
+            BookException bookException = new BookException("Book with id \'" + bookId + "\' has not found");
+            log.warn("IN getDetails - " + bookException.getMessage());
+            throw bookException;
+        }
+
+        Slice<Comment> comments = commentRepo.findWithUserByBookId(bookId, PageRequest.of(
+                0,
+                NumberNormalizer.normalize(commentsCount, 1, MAX_COMMENTS_COUNT),
+                Sort.by("createdDate", "id")));
+
+        // association ids are only resolved for views that render them, the public one renders none
+        BookDetailsDto details = new BookDetailsDto();
+        details.setBook(bookMapper.toDto(book, view));
+        details.setAuthors(authorMapper.toDtos(book.getAuthors(), view));
+        details.setGenres(genreMapper.toDtos(book.getGenres(), view));
+        details.setComments(toDetailsDtos(comments.getContent()));
+        details.setHasMoreComments(comments.hasNext());
+
+        log.info("IN getDetails - book with id " + bookId + " found with " + book.getAuthors().size() +
+                " authors, " + book.getGenres().size() + " genres and " + comments.getNumberOfElements() + " comments");
+        return details;
+    }
+
+    private List<CommentDetailsDto> toDetailsDtos(List<Comment> comments) {
+        List<CommentDetailsDto> dtos = new ArrayList<>();
+        for (Comment comment : comments) {
+            CommentDetailsDto dto = new CommentDetailsDto();
+            BeanUtils.copyProperties(commentMapper.toDto(comment), dto);
+            dto.setUsername(comment.getUser().getUsername());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
@@ -8,48 +8,117 @@ import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Genre;
 import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
+import net.onlinelibrary.repository.EntityProjectionLoader;
+import net.onlinelibrary.repository.EntityVersionRepository;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
 import net.onlinelibrary.service.BookService;
 import net.onlinelibrary.substitute.implementation.BookPropertiesSubstitute;
+import net.onlinelibrary.util.KeysetCursor;
 import net.onlinelibrary.util.NumberNormalizer;
+import net.onlinelibrary.util.OffsetPageRequest;
 import net.onlinelibrary.validator.implementation.BookValidator;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepo;
+    private final EntityMultiLoader entityLoader;
+    private final EntityProjectionLoader projectionLoader;
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
     private final BookValidator bookValidator;
     private final BookPropertiesSubstitute bookPropsSubstitute;
+    private final EntityVersionRepository versionRepo;
 
     public BookServiceImpl(
             BookRepository bookRepo,
+            EntityMultiLoader entityLoader,
+            EntityProjectionLoader projectionLoader,
+            EntityCounterService counterService,
+            CacheService cacheService,
             BookValidator bookValidator,
-            BookPropertiesSubstitute bookPropsSubstitute) {
+            BookPropertiesSubstitute bookPropsSubstitute,
+            EntityVersionRepository versionRepo) {
         this.bookRepo = bookRepo;
+        this.entityLoader = entityLoader;
+        this.projectionLoader = projectionLoader;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
         this.bookValidator = bookValidator;
         this.bookPropsSubstitute = bookPropsSubstitute;
+        this.versionRepo = versionRepo;
     }
 
     @Override
-    public List<Book> getByRange(@NotNull Integer offset, @NotNull Integer count) {
-        List<Book> allBooks = bookRepo.findAll();
+    @Transactional(readOnly = true)
+    public Slice<Book> getByRange(@NotNull Integer offset, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 books");
+            return new SliceImpl<>(new ArrayList<>());
+        }
 
-        List<Book> booksInRange = allBooks.subList(
-                NumberNormalizer.normalize(offset, 0, allBooks.size() == 0 ? 0 : allBooks.size() - 1),
-                NumberNormalizer.normalize(offset + count, 0, allBooks.size()));
+        Slice<Book> booksInRange = bookRepo.findAllBy(new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
 
-        log.info("IN getByRange - found " + booksInRange.size() + " books");
+        log.info("IN getByRange - found " + booksInRange.getNumberOfElements() + " books");
 
         return booksInRange;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Book> getByRange(@NotNull Integer offset, @NotNull Integer count, @NotNull Set<String> fields) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 books");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Book> booksInRange = projectionLoader.findAll(Book.class, fields, new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
+
+        log.info("IN getByRange - found " + booksInRange.getNumberOfElements() + " books with fields " + fields);
+
+        return booksInRange;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Book> getAfter(KeysetCursor cursor, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getAfter - found 0 books");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Book> booksAfterCursor = cursor == null
+                ? bookRepo.findAllBy(PageRequest.of(0, count, Sort.by("createdDate", "id")))
+                : bookRepo.findAfter(cursor.getCreatedDate(), cursor.getId(), PageRequest.of(0, count));
+
+        log.info("IN getAfter - found " + booksAfterCursor.getNumberOfElements() + " books");
+
+        return booksAfterCursor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Book getById(@NotNull Long bookId) throws BookException {
         Optional<Book> bookOpt = bookRepo.findById(bookId);
         if (!bookOpt.isPresent()) {
@@ -63,6 +132,15 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Book> getByIds(@NotNull List<Long> bookIds) {
+        List<Book> books = entityLoader.findAllById(Book.class, bookIds);
+        log.info("IN getByIds - found " + books.size() + " of " + bookIds.size() + " requested books");
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Author> getAuthorsOfBook(@NotNull Long bookId) throws BookException {
         Optional<Book> bookOpt = bookRepo.findById(bookId);
         if (!bookOpt.isPresent()) {
@@ -76,6 +154,7 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Genre> getGenresOfBook(@NotNull Long bookId) throws BookException {
         Optional<Book> bookOpt = bookRepo.findById(bookId);
         if (!bookOpt.isPresent()) {
@@ -89,8 +168,9 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Comment> getCommentsOfBook(@NotNull Long bookId) throws BookException {
-        Optional<Book> bookOpt = bookRepo.findById(bookId);
+        Optional<Book> bookOpt = bookRepo.findWithCommentsById(bookId);
         if (!bookOpt.isPresent()) {
             BookException bookException = new BookException("Book with id \'" + bookId + "\' has not found");
             log.warn("IN getCommentsOfBook - " + bookException.getMessage());
@@ -102,12 +182,14 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional
     public Book saveNewBook(@NotNull Book book) throws ValidationException {
         book.setId(null);
         book.setCreatedDate(new Date());
         book.setLastModifiedDate(new Date());
 
         book = bookPropsSubstitute.substitute(book);
+        attachAssociations(book);
 
         try {
             bookValidator.validate(book);
@@ -117,11 +199,16 @@ public class BookServiceImpl implements BookService {
         }
 
         Book savedBook = bookRepo.save(book);
+        versionRepo.increment(Book.class);
+        cacheService.evictAssociationsOf(Book.class);
+        counterService.onSaved(Book.class);
+        cacheService.evictRenderedResponses(Book.class);
         log.info("IN saveNewBook - book with id " + savedBook.getId() + " saved");
         return savedBook;
     }
 
     @Override
+    @Transactional
     public Book updateBook(@NotNull Long bookId, @NotNull Book book) throws BookException, ValidationException {
         Book bookFromRepo;
         try {
@@ -134,6 +221,7 @@ public class BookServiceImpl implements BookService {
         book.setId(bookFromRepo.getId());
         book.setCreatedDate(bookFromRepo.getCreatedDate());
         book.setLastModifiedDate(new Date());
+        attachAssociations(book);
 
         try {
             bookValidator.validate(book);
@@ -143,26 +231,47 @@ public class BookServiceImpl implements BookService {
         }
 
         Book savedBook = bookRepo.save(book);
+        versionRepo.increment(Book.class);
+        cacheService.evictAssociationsOf(Book.class);
+        cacheService.evictRenderedResponses(Book.class);
         log.info("IN updateBook - book with id " + savedBook.getId() + " updated");
         return savedBook;
     }
 
     @Override
+    @Transactional
     public void deleteById(@NotNull Long bookId) throws BookException {
-        try {
-            bookRepo.deleteById(bookId);
-            log.info("IN deleteById - book with id " + bookId + " deleted");
-        } catch (EmptyResultDataAccessException e) {
+        Optional<Book> bookOpt = bookRepo.findById(bookId);
+        if (!bookOpt.isPresent()) {
             BookException bookException = new BookException("Book with id \'" + bookId + "\' has not found");
             log.warn("IN deleteById - " + bookException.getMessage());
             throw bookException;
         }
+
+        bookRepo.delete(bookOpt.get());
+        versionRepo.increment(Book.class);
+        counterService.onDeleted(Book.class);
+        cacheService.evictAll();
+        log.info("IN deleteById - book with id " + bookId + " deleted");
     }
 
     @Override
     public Long getBooksCount() {
-        long count = bookRepo.count();
+        long count = counterService.getCount(Book.class);
         log.info("IN getBooksCount - total books count = " + count);
         return count;
     }
+
+    @Override
+    public Long getBooksVersion() {
+        long version = versionRepo.getVersion(Book.class);
+        log.info("IN getBooksVersion - books version = " + version);
+        return version;
+    }
+
+    private void attachAssociations(Book book) {
+        book.setAuthors(entityLoader.getReferences(Author.class, book.getAuthors()));
+        book.setGenres(entityLoader.getReferences(Genre.class, book.getGenres()));
+        book.setComments(entityLoader.getReferences(Comment.class, book.getComments()));
+    }
 }
@@ -0,0 +1,98 @@
+package net.onlinelibrary.service.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.cache.RenderedResponseCache;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.BaseEntity;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.util.TransactionCallbacks;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+@Slf4j
+@Service
+public class CacheServiceImpl implements CacheService {
+    private static final Map<Class<? extends BaseEntity>, List<String>> INVERSE_COLLECTIONS = new HashMap<>();
+
+    static {
+        INVERSE_COLLECTIONS.put(Book.class, Arrays.asList(
+                Author.class.getName() + ".books",
+                Genre.class.getName() + ".books"));
+        INVERSE_COLLECTIONS.put(Author.class, Collections.singletonList(
+                Genre.class.getName() + ".authors"));
+    }
+
+    private final SessionFactory sessionFactory;
+    private final RenderedResponseCache renderedResponseCache;
+
+    public CacheServiceImpl(EntityManagerFactory entityManagerFactory, RenderedResponseCache renderedResponseCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.renderedResponseCache = renderedResponseCache;
+    }
+
+    @Override
+    public void evictAssociationsOf(Class<? extends BaseEntity> type) {
+        List<String> roles = INVERSE_COLLECTIONS.getOrDefault(type, Collections.emptyList());
+        if (roles.isEmpty())
+            return;
+
+        TransactionCallbacks.afterCommit(() -> {
+            roles.forEach(role -> sessionFactory.getCache().evictCollectionData(role));
+            log.info("IN evictAssociationsOf - evicted " + roles + " after " + type.getSimpleName() + " write");
+        });
+    }
+
+    @Override
+    public void evictRenderedResponses(Class<? extends BaseEntity> type) {
+        TransactionCallbacks.afterCommit(() -> renderedResponseCache.invalidate(type));
+    }
+
+    @Override
+    public void evictAll() {
+        TransactionCallbacks.afterCommit(() -> {
+            sessionFactory.getCache().evictAllRegions();
+            renderedResponseCache.invalidateAll();
+            log.info("IN evictAll - evicted all cache regions");
+        });
+    }
+
+    @Override
+    public Map<String, Map<String, Number>> getStatistics() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names;
+        try {
+            names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Map<String, Map<String, Number>> statistics = new TreeMap<>();
+        for (ObjectName name : names) {
+            CacheStatisticsMXBean cache = JMX.newMXBeanProxy(server, name, CacheStatisticsMXBean.class);
+
+            Map<String, Number> region = new LinkedHashMap<>();
+            region.put("hits", cache.getCacheHits());
+            region.put("misses", cache.getCacheMisses());
+            region.put("hitPercentage", cache.getCacheHitPercentage());
+            region.put("puts", cache.getCachePuts());
+            region.put("removals", cache.getCacheRemovals());
+            region.put("evictions", cache.getCacheEvictions());
+
+            statistics.put(name.getKeyProperty("Cache"), region);
+        }
+
+        log.info("IN getStatistics - collected statistics of " + statistics.size() + " cache regions");
+        return statistics;
+    }
+}
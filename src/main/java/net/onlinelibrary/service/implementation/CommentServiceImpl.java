@@ -7,14 +7,25 @@ import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.User;
 import net.onlinelibrary.repository.CommentRepository;
+import net.onlinelibrary.repository.EntityMultiLoader;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
 import net.onlinelibrary.service.CommentService;
 import net.onlinelibrary.substitute.implementation.CommentPropertiesSubstitute;
+import net.onlinelibrary.util.KeysetCursor;
 import net.onlinelibrary.util.NumberNormalizer;
+import net.onlinelibrary.util.OffsetPageRequest;
 import net.onlinelibrary.validator.Validator;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -23,32 +34,64 @@ import java.util.Optional;
 @Service
 public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepo;
+    private final EntityMultiLoader entityLoader;
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
     private final Validator<Comment> commentValidator;
     private final CommentPropertiesSubstitute commentPropsSubstitute;
 
     public CommentServiceImpl(
             CommentRepository commentRepo,
+            EntityMultiLoader entityLoader,
+            EntityCounterService counterService,
+            CacheService cacheService,
             Validator<Comment> commentValidator,
             CommentPropertiesSubstitute commentPropsSubstitute) {
         this.commentRepo = commentRepo;
+        this.entityLoader = entityLoader;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
         this.commentValidator = commentValidator;
         this.commentPropsSubstitute = commentPropsSubstitute;
     }
 
     @Override
-    public List<Comment> getByRange(@NotNull Integer offset, @NotNull Integer count) {
-        List<Comment> allComments = commentRepo.findAll();
+    @Transactional(readOnly = true)
+    public Slice<Comment> getByRange(@NotNull Integer offset, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 comments");
+            return new SliceImpl<>(new ArrayList<>());
+        }
 
-        List<Comment> commentsInRange = allComments.subList(
-                NumberNormalizer.normalize(offset, 0, allComments.size() == 0 ? 0 : allComments.size() - 1),
-                NumberNormalizer.normalize(offset + count, 0, allComments.size()));
+        Slice<Comment> commentsInRange = commentRepo.findAllBy(new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
 
-        log.info("IN getByRange - found " + commentsInRange.size() + " comments");
+        log.info("IN getByRange - found " + commentsInRange.getNumberOfElements() + " comments");
 
         return commentsInRange;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Comment> getAfter(KeysetCursor cursor, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getAfter - found 0 comments");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Comment> commentsAfterCursor = cursor == null
+                ? commentRepo.findAllBy(PageRequest.of(0, count, Sort.by("createdDate", "id")))
+                : commentRepo.findAfter(cursor.getCreatedDate(), cursor.getId(), PageRequest.of(0, count));
+
+        log.info("IN getAfter - found " + commentsAfterCursor.getNumberOfElements() + " comments");
+
+        return commentsAfterCursor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Comment getById(@NotNull Long commentId) throws CommentException {
         Optional<Comment> commentOpt = commentRepo.findById(commentId);
         if (!commentOpt.isPresent()) {
@@ -62,8 +105,17 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getByIds(@NotNull List<Long> commentIds) {
+        List<Comment> comments = entityLoader.findAllById(Comment.class, commentIds);
+        log.info("IN getByIds - found " + comments.size() + " of " + commentIds.size() + " requested comments");
+        return comments;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Book getBookOfComment(@NotNull Long commentId) throws CommentException {
-        Optional<Comment> commentOpt = commentRepo.findById(commentId);
+        Optional<Comment> commentOpt = commentRepo.findWithBookById(commentId);
         if (!commentOpt.isPresent()) {
             CommentException commentException = new CommentException("Comment with id \'" + commentId + "\' has not found");
             log.warn("IN getBookOfComment - " + commentException.getMessage());
@@ -75,8 +127,9 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserOfComment(@NotNull Long commentId) throws CommentException {
-        Optional<Comment> commentOpt = commentRepo.findById(commentId);
+        Optional<Comment> commentOpt = commentRepo.findWithUserById(commentId);
         if (!commentOpt.isPresent()) {
             CommentException commentException = new CommentException("Comment with id \'" + commentId + "\' has not found");
             log.warn("IN getUserOfComment - " + commentException.getMessage());
@@ -88,12 +141,14 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public Comment saveNewComment(@NotNull Comment comment) throws ValidationException {
         comment.setId(null);
         comment.setCreatedDate(new Date());
         comment.setLastModifiedDate(new Date());
 
         comment = commentPropsSubstitute.substitute(comment);
+        attachAssociations(comment);
 
         try {
             commentValidator.validate(comment);
@@ -103,11 +158,13 @@ public class CommentServiceImpl implements CommentService {
         }
 
         Comment savedComment = commentRepo.save(comment);
+        counterService.onSaved(Comment.class);
         log.info("IN saveNewComment - comment with id " + savedComment.getId() + " saved");
         return savedComment;
     }
 
     @Override
+    @Transactional
     public Comment updateComment(@NotNull Long commentId, @NotNull Comment comment) throws CommentException, ValidationException {
         Comment commentFromRepo;
         try {
@@ -120,6 +177,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setId(commentFromRepo.getId());
         comment.setCreatedDate(commentFromRepo.getCreatedDate());
         comment.setLastModifiedDate(new Date());
+        attachAssociations(comment);
 
         try {
             commentValidator.validate(comment);
@@ -134,6 +192,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public Comment updateCommentText(@NotNull Long commentId, String text) throws CommentException, ValidationException {
         Comment comment;
         try {
@@ -162,6 +221,8 @@ public class CommentServiceImpl implements CommentService {
     public void deleteById(@NotNull Long commentId) throws CommentException {
         try {
             commentRepo.deleteById(commentId);
+            counterService.onDeleted(Comment.class);
+            cacheService.evictAll();
             log.info("IN deleteById - comment with id " + commentId + " deleted");
         } catch (EmptyResultDataAccessException e) {
             CommentException commentException = new CommentException("Comment with id \'" + commentId + "\' has not found");
@@ -172,8 +233,13 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     public Long getCommentsCount() {
-        long count = commentRepo.count();
+        long count = counterService.getCount(Comment.class);
         log.info("IN getCommentsCount - total comments count = " + count);
         return count;
     }
+
+    private void attachAssociations(Comment comment) {
+        comment.setUser(entityLoader.getReference(User.class, comment.getUser()));
+        comment.setBook(entityLoader.getReference(Book.class, comment.getBook()));
+    }
 }
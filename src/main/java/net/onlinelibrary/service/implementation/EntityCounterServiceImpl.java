@@ -0,0 +1,118 @@
+package net.onlinelibrary.service.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.BaseEntity;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.model.User;
+import net.onlinelibrary.repository.AuthorRepository;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.CommentRepository;
+import net.onlinelibrary.repository.GenreRepository;
+import net.onlinelibrary.repository.UserRepository;
+import net.onlinelibrary.service.EntityCounterService;
+import net.onlinelibrary.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class EntityCounterServiceImpl implements EntityCounterService {
+    @Value("${counters.approximate-threshold}")
+    private long approximateThreshold;
+
+    private final Map<Class<? extends BaseEntity>, JpaRepository<?, Long>> repositories = new HashMap<>();
+    private final Map<Class<? extends BaseEntity>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntityCounterServiceImpl(
+            BookRepository bookRepo,
+            AuthorRepository authorRepo,
+            GenreRepository genreRepo,
+            CommentRepository commentRepo,
+            UserRepository userRepo,
+            JdbcTemplate jdbcTemplate) {
+        repositories.put(Book.class, bookRepo);
+        repositories.put(Author.class, authorRepo);
+        repositories.put(Genre.class, genreRepo);
+        repositories.put(Comment.class, commentRepo);
+        repositories.put(User.class, userRepo);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long getCount(@NotNull Class<? extends BaseEntity> type) {
+        return counters.computeIfAbsent(type, t -> new AtomicLong(load(t))).get();
+    }
+
+    @Override
+    public void onSaved(@NotNull Class<? extends BaseEntity> type) {
+        onSaved(type, 1);
+    }
+
+    @Override
+    public void onSaved(@NotNull Class<? extends BaseEntity> type, long count) {
+        // a rolled back insert must not move the counter, and a reload before the commit would miss the row
+        TransactionCallbacks.afterCommit(() -> {
+            AtomicLong counter = counters.get(type);
+            if (counter != null)
+                counter.addAndGet(count);
+        });
+    }
+
+    @Override
+    public void onDeleted(@NotNull Class<? extends BaseEntity> type) {
+        // removal cascades across the associations, so the other tables may have shrunk as well
+        TransactionCallbacks.afterCommit(() -> {
+            counters.clear();
+            log.info("IN onDeleted - " + type.getSimpleName() + " deleted, counters invalidated");
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${counters.reconcile-interval}")
+    public void reconcile() {
+        for (Map.Entry<Class<? extends BaseEntity>, AtomicLong> entry : counters.entrySet()) {
+            long actual = load(entry.getKey());
+            long cached = entry.getValue().getAndSet(actual);
+            if (cached != actual)
+                log.info("IN reconcile - " + entry.getKey().getSimpleName() +
+                        " counter drifted from " + cached + " to " + actual);
+        }
+    }
+
+    private long load(Class<? extends BaseEntity> type) {
+        if (approximateThreshold > 0) {
+            long estimate = estimate(type);
+            if (estimate >= approximateThreshold) {
+                log.info("IN load - estimated " + type.getSimpleName() + " count = " + estimate);
+                return estimate;
+            }
+        }
+
+        long count = repositories.get(type).count();
+        log.info("IN load - counted " + type.getSimpleName() + " count = " + count);
+        return count;
+    }
+
+    private long estimate(Class<? extends BaseEntity> type) {
+        Long estimate = jdbcTemplate.query(
+                "select reltuples::bigint from pg_class where relname = ?",
+                rs -> rs.next() ? rs.getLong(1) : null,
+                type.getAnnotation(Table.class).name());
+        return estimate == null ? -1 : estimate;
+    }
+}
@@ -0,0 +1,131 @@
+package net.onlinelibrary.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.dto.view.Views;
+import net.onlinelibrary.mapper.Mapper;
+import net.onlinelibrary.mapper.implementation.AuthorMapper;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.GenreMapper;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.repository.AuthorRepository;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.CommentRepository;
+import net.onlinelibrary.repository.GenreRepository;
+import net.onlinelibrary.service.ExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final int CHUNK_SIZE = 500;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final BookRepository bookRepo;
+    private final AuthorRepository authorRepo;
+    private final GenreRepository genreRepo;
+    private final CommentRepository commentRepo;
+
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final GenreMapper genreMapper;
+    private final CommentMapper commentMapper;
+
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public ExportServiceImpl(
+            BookRepository bookRepo,
+            AuthorRepository authorRepo,
+            GenreRepository genreRepo,
+            CommentRepository commentRepo,
+            BookMapper bookMapper,
+            AuthorMapper authorMapper,
+            GenreMapper genreMapper,
+            CommentMapper commentMapper,
+            EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.bookRepo = bookRepo;
+        this.authorRepo = authorRepo;
+        this.genreRepo = genreRepo;
+        this.commentRepo = commentRepo;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.genreMapper = genreMapper;
+        this.commentMapper = commentMapper;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerWithView(Views.ForAdmin.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(OutputStream out) throws IOException {
+        try (Stream<Book> books = bookRepo.streamAll()) {
+            long exported = writeAll(books, bookMapper, out);
+            log.info("IN exportBooks - exported " + exported + " books");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuthors(OutputStream out) throws IOException {
+        try (Stream<Author> authors = authorRepo.streamAll()) {
+            long exported = writeAll(authors, authorMapper, out);
+            log.info("IN exportAuthors - exported " + exported + " authors");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportGenres(OutputStream out) throws IOException {
+        try (Stream<Genre> genres = genreRepo.streamAll()) {
+            long exported = writeAll(genres, genreMapper, out);
+            log.info("IN exportGenres - exported " + exported + " genres");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportComments(OutputStream out) throws IOException {
+        try (Stream<Comment> comments = commentRepo.streamAll()) {
+            long exported = writeAll(comments, commentMapper, out);
+            log.info("IN exportComments - exported " + exported + " comments");
+        }
+    }
+
+    private <E, D> long writeAll(Stream<E> entities, Mapper<E, D> mapper, OutputStream out) throws IOException {
+        long written = 0;
+        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+        Iterator<E> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                for (D dto : mapper.toDtos(chunk)) {
+                    out.write(writer.writeValueAsBytes(dto));
+                    out.write(LINE_SEPARATOR);
+                }
+                written += chunk.size();
+
+                chunk.clear();
+                entityManager.clear();
+                out.flush();
+            }
+        }
+        return written;
+    }
+}
@@ -6,49 +6,99 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Author;
 import net.onlinelibrary.model.Book;
 import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.repository.EntityMultiLoader;
+import net.onlinelibrary.repository.EntityProjectionLoader;
+import net.onlinelibrary.repository.EntityVersionRepository;
 import net.onlinelibrary.repository.GenreRepository;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
 import net.onlinelibrary.service.GenreService;
 import net.onlinelibrary.substitute.implementation.GenrePropertiesSubstitute;
 import net.onlinelibrary.util.NumberNormalizer;
+import net.onlinelibrary.util.OffsetPageRequest;
 import net.onlinelibrary.validator.implementation.GenreValidator;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class GenreServiceImpl implements GenreService {
     private final GenreRepository genreRepo;
+    private final EntityMultiLoader entityLoader;
+    private final EntityProjectionLoader projectionLoader;
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
     private final GenreValidator genreValidator;
     private final GenrePropertiesSubstitute genrePropsSubstitute;
+    private final EntityVersionRepository versionRepo;
 
     public GenreServiceImpl(
             GenreRepository genreRepo,
+            EntityMultiLoader entityLoader,
+            EntityProjectionLoader projectionLoader,
+            EntityCounterService counterService,
+            CacheService cacheService,
             GenreValidator genreValidator,
-            GenrePropertiesSubstitute genrePropsSubstitute) {
+            GenrePropertiesSubstitute genrePropsSubstitute,
+            EntityVersionRepository versionRepo) {
         this.genreRepo = genreRepo;
+        this.entityLoader = entityLoader;
+        this.projectionLoader = projectionLoader;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
         this.genreValidator = genreValidator;
         this.genrePropsSubstitute = genrePropsSubstitute;
+        this.versionRepo = versionRepo;
     }
 
     @Override
-    public List<Genre> getByRange(@NotNull Integer offset, @NotNull Integer count) {
-        List<Genre> allGenres = genreRepo.findAll();
+    @Transactional(readOnly = true)
+    public Slice<Genre> getByRange(@NotNull Integer offset, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 genres");
+            return new SliceImpl<>(new ArrayList<>());
+        }
 
-        List<Genre> genresInRange = allGenres.subList(
-                NumberNormalizer.normalize(offset, 0, allGenres.size() == 0 ? 0 : allGenres.size() - 1),
-                NumberNormalizer.normalize(offset + count, 0, allGenres.size()));
+        Slice<Genre> genresInRange = genreRepo.findAllBy(new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
 
-        log.info("IN getByRange - found " + genresInRange.size() + " genres");
+        log.info("IN getByRange - found " + genresInRange.getNumberOfElements() + " genres");
 
         return genresInRange;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<Genre> getByRange(@NotNull Integer offset, @NotNull Integer count, @NotNull Set<String> fields) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 genres");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<Genre> genresInRange = projectionLoader.findAll(Genre.class, fields, new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
+
+        log.info("IN getByRange - found " + genresInRange.getNumberOfElements() + " genres with fields " + fields);
+
+        return genresInRange;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Genre getById(@NotNull Long genreId) throws GenreException {
         Optional<Genre> genreOpt = genreRepo.findById(genreId);
         if(!genreOpt.isPresent()) {
@@ -62,6 +112,15 @@ public class GenreServiceImpl implements GenreService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Genre> getByIds(@NotNull List<Long> genreIds) {
+        List<Genre> genres = entityLoader.findAllById(Genre.class, genreIds);
+        log.info("IN getByIds - found " + genres.size() + " of " + genreIds.size() + " requested genres");
+        return genres;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Book> getBooksOfGenre(@NotNull Long genreId) throws GenreException {
         Optional<Genre> genreOpt = genreRepo.findById(genreId);
         if(!genreOpt.isPresent()) {
@@ -75,6 +134,7 @@ public class GenreServiceImpl implements GenreService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Author> getAuthorsOfGenre(@NotNull Long genreId) throws GenreException {
         Optional<Genre> genreOpt = genreRepo.findById(genreId);
         if(!genreOpt.isPresent()) {
@@ -88,12 +148,14 @@ public class GenreServiceImpl implements GenreService {
     }
 
     @Override
+    @Transactional
     public Genre saveNewGenre(@NotNull Genre genre) throws ValidationException {
         genre.setId(null);
         genre.setCreatedDate(new Date());
         genre.setLastModifiedDate(new Date());
 
         genre = genrePropsSubstitute.substitute(genre);
+        attachAssociations(genre);
 
         try {
             genreValidator.validate(genre);
@@ -103,11 +165,15 @@ public class GenreServiceImpl implements GenreService {
         }
 
         Genre savedGenre = genreRepo.save(genre);
+        versionRepo.increment(Genre.class);
+        counterService.onSaved(Genre.class);
+        cacheService.evictRenderedResponses(Genre.class);
         log.info("IN saveNewGenre - genre with id " + savedGenre.getId() + " saved");
         return savedGenre;
     }
 
     @Override
+    @Transactional
     public Genre updateGenre(@NotNull Long genreId, @NotNull Genre genre) throws GenreException, ValidationException {
         Genre genreFromRepo;
         try {
@@ -120,6 +186,7 @@ public class GenreServiceImpl implements GenreService {
         genre.setId(genreFromRepo.getId());
         genre.setCreatedDate(genreFromRepo.getCreatedDate());
         genre.setLastModifiedDate(new Date());
+        attachAssociations(genre);
 
         try {
             genreValidator.validate(genre);
@@ -129,33 +196,51 @@ public class GenreServiceImpl implements GenreService {
         }
 
         Genre savedGenre = genreRepo.save(genre);
+        versionRepo.increment(Genre.class);
+        cacheService.evictRenderedResponses(Genre.class);
         log.info("IN updateGenre - genre with id " + savedGenre.getId() + " updated");
         return savedGenre;
     }
 
     @Override
+    @Transactional
     public void deleteById(@NotNull Long genreId) throws GenreException {
-        try {
-            genreRepo.deleteById(genreId);
-            log.info("IN deleteById - genre with id " + genreId + " deleted");
-        }
-        catch (EmptyResultDataAccessException e)
-        {
+        Optional<Genre> genreOpt = genreRepo.findById(genreId);
+        if (!genreOpt.isPresent()) {
             GenreException genreException = new GenreException("Genre with id \'" + genreId + "\' has not found");
             log.warn("IN deleteById - " + genreException.getMessage());
             throw genreException;
         }
+
+        genreRepo.delete(genreOpt.get());
+        versionRepo.increment(Genre.class);
+        counterService.onDeleted(Genre.class);
+        cacheService.evictAll();
+        log.info("IN deleteById - genre with id " + genreId + " deleted");
     }
 
     @Override
     public Long getGenresCount() {
-        long count = genreRepo.count();
+        long count = counterService.getCount(Genre.class);
         log.info("IN getGenresCount - total genres count = " + count);
         return count;
     }
 
     @Override
+    public Long getGenresVersion() {
+        long version = versionRepo.getVersion(Genre.class);
+        log.info("IN getGenresVersion - genres version = " + version);
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Genre> searchBySubStr(String subStr) {
         return genreRepo.findByGenreStartsWithIgnoreCase(subStr);
     }
+
+    private void attachAssociations(Genre genre) {
+        genre.setBooks(entityLoader.getReferences(Book.class, genre.getBooks()));
+        genre.setAuthors(entityLoader.getReferences(Author.class, genre.getAuthors()));
+    }
 }
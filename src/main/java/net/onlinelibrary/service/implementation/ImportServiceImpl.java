@@ -0,0 +1,216 @@
+package net.onlinelibrary.service.implementation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.ImportItemResult;
+import net.onlinelibrary.dto.view.Views;
+import net.onlinelibrary.exception.ValidationException;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.model.BaseEntity;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.EntityVersionRepository;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
+import net.onlinelibrary.service.ImportService;
+import net.onlinelibrary.substitute.implementation.BookPropertiesSubstitute;
+import net.onlinelibrary.validator.implementation.BookValidator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+    private static final int CHUNK_SIZE = 500;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final BookRepository bookRepo;
+    private final EntityVersionRepository versionRepo;
+    private final BookMapper bookMapper;
+    private final BookValidator bookValidator;
+    private final BookPropertiesSubstitute bookPropsSubstitute;
+
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader bookReader;
+    private final ObjectWriter writer;
+
+    public ImportServiceImpl(
+            BookRepository bookRepo,
+            EntityVersionRepository versionRepo,
+            BookMapper bookMapper,
+            BookValidator bookValidator,
+            BookPropertiesSubstitute bookPropsSubstitute,
+            EntityCounterService counterService,
+            CacheService cacheService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.bookRepo = bookRepo;
+        this.versionRepo = versionRepo;
+        this.bookMapper = bookMapper;
+        this.bookValidator = bookValidator;
+        this.bookPropsSubstitute = bookPropsSubstitute;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.bookReader = objectMapper.readerFor(BookDto.class).withView(Views.ForAdmin.class);
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public void importBooks(InputStream in, OutputStream out) throws IOException {
+        long saved = 0;
+        long index = 0;
+        List<ImportItemResult> rejected = new ArrayList<>();
+        Map<Long, BookDto> chunk = new LinkedHashMap<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            try {
+                boolean array = parser.nextToken() == JsonToken.START_ARRAY;
+                if (array)
+                    parser.nextToken();
+
+                while (parser.currentToken() != null && !(array && parser.currentToken() == JsonToken.END_ARRAY)) {
+                    JsonNode node = parser.readValueAsTree();
+                    parser.nextToken();
+
+                    try {
+                        chunk.put(index, bookReader.treeToValue(node, BookDto.class));
+                    } catch (JsonProcessingException e) {
+                        rejected.add(ImportItemResult.of(index, ImportItemResult.Status.INVALID,
+                                "Unreadable book - " + e.getOriginalMessage()));
+                    }
+                    index++;
+
+                    // rejections count towards the chunk, so a feed of unreadable items is still reported as it goes
+                    if (chunk.size() + rejected.size() >= CHUNK_SIZE) {
+                        saved += saveChunk(chunk, rejected, out);
+                        chunk.clear();
+                        rejected.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                rejected.add(ImportItemResult.of(index, ImportItemResult.Status.MALFORMED,
+                        "Malformed body, import stopped - " + e.getOriginalMessage()));
+            }
+        }
+
+        saved += saveChunk(chunk, rejected, out);
+        log.info("IN importBooks - saved " + saved + " of " + index + " books");
+    }
+
+    private long saveChunk(Map<Long, BookDto> chunk, List<ImportItemResult> rejected, OutputStream out)
+            throws IOException {
+        List<ImportItemResult> results = new ArrayList<>(rejected);
+        long saved = 0;
+
+        if (!chunk.isEmpty()) {
+            List<ImportItemResult> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> saveBooks(chunk));
+            } catch (RuntimeException e) {
+                log.warn("IN saveChunk - chunk of " + chunk.size() + " books failed - " + e.getMessage());
+                chunkResults = new ArrayList<>();
+                for (Long index : chunk.keySet())
+                    chunkResults.add(ImportItemResult.of(index, ImportItemResult.Status.FAILED,
+                            "Chunk rolled back - " + e.getMessage()));
+            }
+
+            for (ImportItemResult result : chunkResults)
+                if (result.getStatus() == ImportItemResult.Status.SAVED)
+                    saved++;
+            results.addAll(chunkResults);
+        }
+
+        results.sort(Comparator.comparingLong(ImportItemResult::getIndex));
+        for (ImportItemResult result : results) {
+            out.write(writer.writeValueAsBytes(result));
+            out.write(LINE_SEPARATOR);
+        }
+        out.flush();
+
+        return saved;
+    }
+
+    private List<ImportItemResult> saveBooks(Map<Long, BookDto> chunk) {
+        List<BookDto> dtos = new ArrayList<>(chunk.values());
+        List<Long> indexes = new ArrayList<>(chunk.keySet());
+        List<Book> books = bookMapper.toEntities(dtos);
+
+        List<Long> candidateIndexes = new ArrayList<>();
+        List<Book> candidates = new ArrayList<>();
+        List<ImportItemResult> results = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            book.setId(null);
+            book.setCreatedDate(new Date());
+            book.setLastModifiedDate(new Date());
+            book = bookPropsSubstitute.substitute(book);
+
+            try {
+                validateReferences(dtos.get(i), book);
+                candidateIndexes.add(indexes.get(i));
+                candidates.add(book);
+            } catch (ValidationException e) {
+                results.add(invalid(indexes.get(i), e));
+            }
+        }
+
+        Map<Integer, ValidationException> errors = bookValidator.validateAll(candidates);
+        Map<Long, Book> valid = new LinkedHashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (errors.containsKey(i))
+                results.add(invalid(candidateIndexes.get(i), errors.get(i)));
+            else
+                valid.put(candidateIndexes.get(i), candidates.get(i));
+        }
+
+        if (valid.isEmpty())
+            return results;
+
+        bookRepo.saveAll(valid.values());
+        bookRepo.flush();
+        versionRepo.increment(Book.class);
+        cacheService.evictAssociationsOf(Book.class);
+        cacheService.evictRenderedResponses(Book.class);
+        counterService.onSaved(Book.class, valid.size());
+
+        valid.forEach((index, book) -> results.add(ImportItemResult.saved(index, book.getId())));
+        return results;
+    }
+
+    private static ImportItemResult invalid(long index, ValidationException e) {
+        return ImportItemResult.of(index, ImportItemResult.Status.INVALID, "Validation failure - " + e.getMessage());
+    }
+
+    private void validateReferences(BookDto dto, Book book) throws ValidationException {
+        if (dto.getAuthors() != null && !resolvedAll(dto.getAuthors(), book.getAuthors()))
+            throw new ValidationException("some of authors " + dto.getAuthors() + " do not exist");
+        if (dto.getGenres() != null && !resolvedAll(dto.getGenres(), book.getGenres()))
+            throw new ValidationException("some of genres " + dto.getGenres() + " do not exist");
+        if (dto.getComments() != null && !resolvedAll(dto.getComments(), book.getComments()))
+            throw new ValidationException("some of comments " + dto.getComments() + " do not exist");
+    }
+
+    // the loaders return a repeated id once or once per occurrence, so both sides are compared by distinct ids
+    private static boolean resolvedAll(List<Long> ids, List<? extends BaseEntity> entities) {
+        return new HashSet<>(ids).size() == entities.stream().map(BaseEntity::getId).distinct().count();
+    }
+}
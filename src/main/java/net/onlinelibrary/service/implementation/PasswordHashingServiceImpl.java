@@ -0,0 +1,79 @@
+package net.onlinelibrary.service.implementation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.onlinelibrary.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private final ThreadPoolTaskExecutor executor;
+    private final AsyncTaskExecutor taskExecutor;
+    private final PasswordEncoder passwordEncoder;
+
+    public PasswordHashingServiceImpl(
+            @Value("${security.password-hashing.threads}") int threads,
+            @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry) {
+        this.taskExecutor = taskExecutor;
+        this.passwordEncoder = passwordEncoder;
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+
+        Gauge.builder("password.hashing.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, e -> e.getActiveCount())
+                .description("Password hashing tasks in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> encode(String rawPassword) {
+        // a missing password has nothing to hash, validation rejects it afterwards
+        if (rawPassword == null)
+            return CompletableFuture.completedFuture(null);
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> hashed;
+        try {
+            hashed = CompletableFuture.supplyAsync(work, executor);
+        } catch (TaskRejectedException e) {
+            log.warn("IN submit - password hashing queue is full, task rejected");
+            throw e;
+        }
+        return hashed.thenApplyAsync(Function.identity(), taskExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -6,17 +6,27 @@ import net.onlinelibrary.exception.ValidationException;
 import net.onlinelibrary.model.Comment;
 import net.onlinelibrary.model.Role;
 import net.onlinelibrary.model.User;
+import net.onlinelibrary.repository.EntityMultiLoader;
 import net.onlinelibrary.repository.UserRepository;
+import net.onlinelibrary.security.UserStatusCache;
+import net.onlinelibrary.service.CacheService;
+import net.onlinelibrary.service.EntityCounterService;
 import net.onlinelibrary.service.UserService;
 import net.onlinelibrary.substitute.implementation.UserPropertiesSubstitute;
+import net.onlinelibrary.util.KeysetCursor;
 import net.onlinelibrary.util.NumberNormalizer;
+import net.onlinelibrary.util.OffsetPageRequest;
 import net.onlinelibrary.validator.implementation.UserValidator;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -26,35 +36,67 @@ import java.util.Set;
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepo;
+    private final EntityMultiLoader entityLoader;
+    private final EntityCounterService counterService;
+    private final CacheService cacheService;
+    private final UserStatusCache userStatusCache;
     private final UserValidator userValidator;
-    private final PasswordEncoder passwordEncoder;
     private final UserPropertiesSubstitute userPropsSubstitute;
 
     public UserServiceImpl(
             UserRepository userRepo,
+            EntityMultiLoader entityLoader,
+            EntityCounterService counterService,
+            CacheService cacheService,
+            UserStatusCache userStatusCache,
             UserValidator userValidator,
-            @Lazy PasswordEncoder passwordEncoder,
             UserPropertiesSubstitute userPropsSubstitute) {
         this.userRepo = userRepo;
+        this.entityLoader = entityLoader;
+        this.counterService = counterService;
+        this.cacheService = cacheService;
+        this.userStatusCache = userStatusCache;
         this.userValidator = userValidator;
-        this.passwordEncoder = passwordEncoder;
         this.userPropsSubstitute = userPropsSubstitute;
     }
 
     @Override
-    public List<User> getByRange(@NotNull Integer offset, @NotNull Integer count) {
-        List<User> allUsers = userRepo.findAll();
+    @Transactional(readOnly = true)
+    public Slice<User> getByRange(@NotNull Integer offset, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getByRange - found 0 users");
+            return new SliceImpl<>(new ArrayList<>());
+        }
+
+        Slice<User> usersInRange = userRepo.findAllBy(new OffsetPageRequest(
+                NumberNormalizer.normalize(offset, 0, Integer.MAX_VALUE),
+                count,
+                Sort.by("id")));
+
+        log.info("IN getByRange - found " + usersInRange.getNumberOfElements() + " users");
+
+        return usersInRange;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<User> getAfter(KeysetCursor cursor, @NotNull Integer count) {
+        if (count <= 0) {
+            log.info("IN getAfter - found 0 users");
+            return new SliceImpl<>(new ArrayList<>());
+        }
 
-        List<User> userInRange = allUsers.subList(
-                NumberNormalizer.normalize(offset, 0, allUsers.size() == 0 ? 0 : allUsers.size() - 1),
-                NumberNormalizer.normalize(offset + count, 0, allUsers.size()));
+        Slice<User> usersAfterCursor = cursor == null
+                ? userRepo.findAllBy(PageRequest.of(0, count, Sort.by("createdDate", "id")))
+                : userRepo.findAfter(cursor.getCreatedDate(), cursor.getId(), PageRequest.of(0, count));
 
-        log.info("IN getByRange - found " + userInRange.size() + " users");
+        log.info("IN getAfter - found " + usersAfterCursor.getNumberOfElements() + " users");
 
-        return userInRange;
+        return usersAfterCursor;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getById(@NotNull Long userId) throws UserNotFoundException {
         Optional<User> userOpt = userRepo.findById(userId);
         if(!userOpt.isPresent()) {
@@ -68,6 +110,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<User> getByIds(@NotNull List<Long> userIds) {
+        List<User> users = entityLoader.findAllById(User.class, userIds);
+        log.info("IN getByIds - found " + users.size() + " of " + userIds.size() + " requested users");
+        return users;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public User getByUsername(@NotNull String username) throws UserNotFoundException {
         Optional<User> userOpt = userRepo.findByUsernameIgnoreCase(username);
         if (!userOpt.isPresent()) {
@@ -82,14 +133,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Long getUsersCount() {
-        long count = userRepo.count();
+        long count = counterService.getCount(User.class);
         log.info("IN getUsersCount - total users count = " + count);
         return count;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Comment> getCommentsOfUser(@NotNull Long userId) throws UserNotFoundException {
-        Optional<User> userOpt = userRepo.findById(userId);
+        Optional<User> userOpt = userRepo.findWithCommentsById(userId);
         if(!userOpt.isPresent()) {
             UserNotFoundException userNotFoundException = new UserNotFoundException("User with id \'" + userId + "\' has not found");
             log.warn("IN getCommentsOfUser - " + userNotFoundException.getMessage());
@@ -101,6 +153,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<Role> getRolesOfUser(@NotNull Long userId) throws UserNotFoundException {
         Optional<User> userOpt = userRepo.findById(userId);
         if(!userOpt.isPresent()) {
@@ -114,12 +167,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User saveNewUser(@NotNull User user) throws ValidationException {
+    @Transactional
+    public User saveNewUser(@NotNull User user, String encodedPassword) throws ValidationException {
         user.setId(null);
         user.setCreatedDate(new Date());
         user.setLastModifiedDate(new Date());
 
         user = userPropsSubstitute.substitute(user);
+        attachAssociations(user);
 
         try {
             userValidator.validate(user);
@@ -128,14 +183,17 @@ public class UserServiceImpl implements UserService {
             throw e;
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        // the password is hashed by the caller before the transaction starts, the raw one is only validated
+        user.setPassword(encodedPassword);
 
         User savedUser = userRepo.save(user);
+        counterService.onSaved(User.class);
         log.info("IN saveNewUser - user with id " + savedUser.getId() + " saved");
         return savedUser;
     }
 
     @Override
+    @Transactional
     public User updateUserWithPasswordAndUsernameAndEmailExcluding(@NotNull Long userId, @NotNull User user) throws UserNotFoundException, ValidationException {
         User userFromRepo;
         try {
@@ -148,6 +206,7 @@ public class UserServiceImpl implements UserService {
         user.setId(userFromRepo.getId());
         user.setCreatedDate(userFromRepo.getCreatedDate());
         user.setLastModifiedDate(new Date());
+        attachAssociations(user);
 
         user.setPassword(userFromRepo.getPassword());
         user.setUsername(userFromRepo.getUsername());
@@ -161,12 +220,14 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepo.save(user);
+        userStatusCache.invalidate(savedUser.getId());
         log.info("IN updateUser - user with id " + savedUser.getId() + " updated");
         return savedUser;
     }
 
     @Override
-    public User updatePassword(@NotNull Long userId, String newPassword) throws UserNotFoundException, ValidationException {
+    @Transactional
+    public User updatePassword(@NotNull Long userId, String newPassword, String encodedNewPassword) throws UserNotFoundException, ValidationException {
         User userFromRepo;
         try {
             userFromRepo = getById(userId);
@@ -185,14 +246,16 @@ public class UserServiceImpl implements UserService {
             throw e;
         }
 
-        userFromRepo.setPassword(passwordEncoder.encode(userFromRepo.getPassword()));
+        userFromRepo.setPassword(encodedNewPassword);
 
         User savedUser = userRepo.save(userFromRepo);
+        userStatusCache.invalidate(savedUser.getId());
         log.info("IN updatePassword - password of user with id " + savedUser.getId() + " updated");
         return savedUser;
     }
 
     @Override
+    @Transactional
     public User updateUsername(@NotNull Long userId, String newUsername) throws UserNotFoundException, ValidationException {
         User userFromRepo;
         try {
@@ -213,11 +276,13 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepo.save(userFromRepo);
+        userStatusCache.invalidate(savedUser.getId());
         log.info("IN updateUsername - user with id " + savedUser.getId() + " updated username");
         return savedUser;
     }
 
     @Override
+    @Transactional
     public User updateEmail(@NotNull Long userId, String newEmail) throws UserNotFoundException, ValidationException {
         User userFromRepo;
         try {
@@ -238,6 +303,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepo.save(userFromRepo);
+        userStatusCache.invalidate(savedUser.getId());
         log.info("IN updateUsername - user with id " + savedUser.getId() + " updated username");
         return savedUser;
     }
@@ -246,6 +312,9 @@ public class UserServiceImpl implements UserService {
     public void deleteById(@NotNull Long userId) throws UserNotFoundException {
         try {
             userRepo.deleteById(userId);
+            counterService.onDeleted(User.class);
+            cacheService.evictAll();
+            userStatusCache.invalidate(userId);
             log.info("IN deleteById - user with id " + userId + " deleted");
         }
         catch (EmptyResultDataAccessException e)
@@ -255,4 +324,8 @@ public class UserServiceImpl implements UserService {
             throw userNotFoundException;
         }
     }
+
+    private void attachAssociations(User user) {
+        user.setComments(entityLoader.getReferences(Comment.class, user.getComments()));
+    }
 }
@@ -0,0 +1,19 @@
+package net.onlinelibrary.util;
+
+import net.onlinelibrary.model.BaseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+public final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    public static boolean isNotModified(WebRequest webRequest, BaseEntity entity) {
+        long lastModified = entity.getLastModifiedDate().getTime();
+        return webRequest.checkNotModified("\"" + entity.getId() + "-" + lastModified + "\"", lastModified);
+    }
+
+    // deletes and late commits do not move max(last_modified_date), so lists are validated by the table version alone
+    public static boolean isNotModified(WebRequest webRequest, Long version) {
+        return webRequest.checkNotModified("\"v" + version + "\"");
+    }
+}
@@ -0,0 +1,10 @@
+package net.onlinelibrary.util;
+
+public final class Headers {
+    public static final String HAS_MORE = "X-Has-More";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final String SQL_STATEMENTS = "X-Sql-Statements";
+
+    private Headers() {
+    }
+}
@@ -0,0 +1,68 @@
+package net.onlinelibrary.util;
+
+import lombok.Data;
+import net.onlinelibrary.model.BaseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+
+@Data
+public class KeysetCursor {
+    private final Date createdDate;
+    private final Long id;
+
+    public static KeysetCursor of(BaseEntity entity) {
+        return new KeysetCursor(entity.getCreatedDate(), entity.getId());
+    }
+
+    public static KeysetCursor parse(String cursor) {
+        if (cursor == null || cursor.isEmpty())
+            return null;
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor is not valid base64");
+        }
+
+        String[] parts = decoded.split(":");
+        if (parts.length != 2)
+            throw new IllegalArgumentException("cursor has wrong format");
+
+        try {
+            return new KeysetCursor(parseCreatedDate(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cursor has wrong format");
+        }
+    }
+
+    // timestamps loaded from Postgres carry microseconds, so the cursor keeps the nanos instead of
+    // truncating to milliseconds, which would seek before the last row of the page and return it again
+    public String encode() {
+        long millis = createdDate.getTime();
+        int nanos = createdDate instanceof Timestamp
+                ? ((Timestamp) createdDate).getNanos()
+                : (int) Math.floorMod(millis, 1000L) * 1_000_000;
+
+        String raw = Math.floorDiv(millis, 1000L) + "." + String.format("%09d", nanos) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // cursors handed out before nanos were encoded hold epoch milliseconds only
+    private static Date parseCreatedDate(String value) {
+        int dot = value.indexOf('.');
+        if (dot < 0)
+            return new Timestamp(Long.parseLong(value));
+
+        String fraction = value.substring(dot + 1);
+        if (fraction.length() != 9 || fraction.startsWith("-"))
+            throw new NumberFormatException(value);
+
+        Timestamp createdDate = new Timestamp(Long.parseLong(value.substring(0, dot)) * 1000L);
+        createdDate.setNanos(Integer.parseInt(fraction));
+        return createdDate;
+    }
+}
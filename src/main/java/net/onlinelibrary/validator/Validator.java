@@ -2,6 +2,22 @@ package net.onlinelibrary.validator;
 
 import net.onlinelibrary.exception.ValidationException;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 public interface Validator<TValidation> {
     void validate(TValidation obj) throws ValidationException;
+
+    default Map<Integer, ValidationException> validateAll(List<TValidation> objs) {
+        Map<Integer, ValidationException> errors = new TreeMap<>();
+        for (int i = 0; i < objs.size(); i++) {
+            try {
+                validate(objs.get(i));
+            } catch (ValidationException e) {
+                errors.put(i, e);
+            }
+        }
+        return errors;
+    }
 }
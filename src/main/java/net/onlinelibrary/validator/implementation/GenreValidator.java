@@ -7,6 +7,10 @@ import net.onlinelibrary.validator.Validator;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Component
 public class GenreValidator implements Validator<Genre> {
@@ -23,6 +27,38 @@ public class GenreValidator implements Validator<Genre> {
         validateOnUniqueGenreName(genre.getGenre());
     }
 
+    @Override
+    public Map<Integer, ValidationException> validateAll(@NotNull List<Genre> genres) {
+        Map<Integer, ValidationException> errors = new TreeMap<>();
+        Map<String, Integer> firstIndexes = new HashMap<>();
+        for (int i = 0; i < genres.size(); i++) {
+            Genre genre = genres.get(i);
+            try {
+                validateOnNullOrEmpty(genre);
+                validateGenreName(genre.getGenre());
+            } catch (ValidationException e) {
+                errors.put(i, e);
+                continue;
+            }
+
+            Integer firstIndex = firstIndexes.putIfAbsent(genre.getGenre().toLowerCase(), i);
+            if (firstIndex != null)
+                errors.put(i, new ValidationException("genre must be unique, \'" + genre.getGenre() +
+                        "\' is duplicated in the batch at position " + firstIndex));
+        }
+
+        if (firstIndexes.isEmpty())
+            return errors;
+
+        for (String existing : genreRepo.findExistingGenresIgnoreCase(firstIndexes.keySet())) {
+            Integer i = firstIndexes.get(existing);
+            if (i != null)
+                errors.put(i, new ValidationException("genre must be unique, \'" + genres.get(i).getGenre() +
+                        "\' already exists"));
+        }
+        return errors;
+    }
+
     private void validateOnUniqueGenreName(String genre) throws ValidationException {
         if (genreRepo.existsByGenreIgnoreCase(genre))
             throw new ValidationException("genre must be unique, \'" + genre + "\' already exists");
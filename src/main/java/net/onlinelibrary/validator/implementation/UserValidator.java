@@ -7,6 +7,7 @@ import net.onlinelibrary.validator.Validator;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotNull;
+import java.util.*;
 import java.util.regex.Pattern;
 
 @Component
@@ -43,6 +44,40 @@ public class UserValidator implements Validator<User> {
             validateUsernameAndEmailOnUnique(user.getUsername(), user.getEmail());
     }
 
+    @Override
+    public Map<Integer, ValidationException> validateAll(@NotNull List<User> users) {
+        Map<Integer, ValidationException> errors = new TreeMap<>();
+        Map<String, Integer> usernameIndexes = new HashMap<>();
+        Map<String, Integer> emailIndexes = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            try {
+                validate(user, true, false);
+            } catch (ValidationException e) {
+                errors.put(i, e);
+                continue;
+            }
+
+            Integer sameUsername = usernameIndexes.putIfAbsent(user.getUsername(), i);
+            Integer sameEmail = emailIndexes.putIfAbsent(user.getEmail().toLowerCase(), i);
+            if (sameUsername != null || sameEmail != null)
+                errors.put(i, new ValidationException("username or email is duplicated in the batch at position " +
+                        (sameUsername != null ? sameUsername : sameEmail)));
+        }
+
+        if (usernameIndexes.isEmpty())
+            return errors;
+
+        for (Object[] taken : userRepo.findTakenUsernamesAndEmails(usernameIndexes.keySet(), emailIndexes.keySet())) {
+            Integer byUsername = usernameIndexes.get((String) taken[0]);
+            Integer byEmail = emailIndexes.get((String) taken[1]);
+            for (Integer i : Arrays.asList(byUsername, byEmail))
+                if (i != null)
+                    errors.put(i, new ValidationException("username or email is already taken"));
+        }
+        return errors;
+    }
+
     private void validateUsernameAndEmailOnUnique(String username, String email) throws ValidationException {
         if (userRepo.existsByUsernameOrEmailIgnoreCase(username, email))
             throw new ValidationException("username or email is already taken");
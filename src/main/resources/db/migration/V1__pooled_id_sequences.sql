@@ -0,0 +1,25 @@
+-- Entities switched from identity columns to pooled-lo sequences (increment 50).
+-- Tables may not exist yet on a fresh database; Hibernate creates them after this runs.
+DO $$
+DECLARE
+    entity record;
+BEGIN
+    FOR entity IN
+        SELECT *
+        FROM (VALUES ('books', 'book_seq'),
+                     ('authors', 'author_seq'),
+                     ('genres', 'genre_seq'),
+                     ('comments', 'comment_seq'),
+                     ('usr', 'user_seq')) AS t (table_name, sequence_name)
+    LOOP
+        IF to_regclass(entity.sequence_name) IS NULL THEN
+            EXECUTE format('CREATE SEQUENCE %I START WITH 1 INCREMENT BY 50', entity.sequence_name);
+        END IF;
+
+        IF to_regclass(entity.table_name) IS NOT NULL THEN
+            EXECUTE format('SELECT setval(%L, coalesce((SELECT max(id) FROM %I), 0) + 1, false)',
+                           entity.sequence_name, entity.table_name);
+        END IF;
+    END LOOP;
+END
+$$;
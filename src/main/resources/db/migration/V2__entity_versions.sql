@@ -0,0 +1,16 @@
+-- Versions of the tables behind the list ETags, bumped in the same transaction as every write.
+CREATE TABLE IF NOT EXISTS entity_versions (
+    entity  varchar(64) PRIMARY KEY,
+    version bigint      NOT NULL
+);
+
+INSERT INTO entity_versions (entity, version)
+VALUES ('books', 0),
+       ('authors', 0),
+       ('genres', 0)
+ON CONFLICT DO NOTHING;
+
+-- Only the former max(last_modified_date) list probe read these.
+DROP INDEX IF EXISTS books_last_modified_date_idx;
+DROP INDEX IF EXISTS authors_last_modified_date_idx;
+DROP INDEX IF EXISTS genres_last_modified_date_idx;
@@ -0,0 +1,98 @@
+package net.onlinelibrary;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.CommentDto;
+import net.onlinelibrary.dto.view.Views;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// timings of the same formats are measured by BinaryFormatBenchmark in the benchmark profile
+class BinaryFormatTests {
+	private static final int ELEMENTS_COUNT = 1000;
+
+	private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+	BinaryFormatTests() {
+		mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+		mappers.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+		mappers.put("cbor", Jackson2ObjectMapperBuilder.cbor().build());
+	}
+
+	@Test
+	void booksForEvery() throws Exception {
+		compare(books(), BookDto.class, Views.ForEvery.class);
+	}
+
+	@Test
+	void booksForAdmin() throws Exception {
+		compare(books(), BookDto.class, Views.ForAdmin.class);
+	}
+
+	@Test
+	void commentsForUser() throws Exception {
+		compare(comments(), CommentDto.class, Views.ForUser.class);
+	}
+
+	private void compare(List<?> elements, Class<?> elementType, Class<?> view) throws Exception {
+		int jsonSize = 0;
+		for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+			ObjectMapper mapper = entry.getValue();
+			JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+
+			byte[] payload = mapper.writerWithView(view).writeValueAsBytes(elements);
+			List<?> decoded = mapper.readerWithView(view).forType(listType).readValue(payload);
+			assertEquals(elements.size(), decoded.size());
+
+			if (jsonSize == 0)
+				jsonSize = payload.length;
+			else
+				assertTrue(payload.length < jsonSize, entry.getKey() + " payload is not smaller than json");
+		}
+	}
+
+	private static List<BookDto> books() {
+		List<BookDto> books = new ArrayList<>();
+		Date now = new Date();
+		for (long i = 1; i <= ELEMENTS_COUNT; i++) {
+			BookDto book = new BookDto();
+			book.setId(i);
+			book.setName("Book " + i);
+			book.setPagesCount(100 + (int) (i % 900));
+			book.setAvatar("https://images.onlinelibrary.net/books/" + i + ".png");
+			book.setPublicationYear(1900 + (int) (i % 120));
+			book.setShortDescription("Short description of book number " + i);
+			book.setRating(i % 5);
+			book.setAuthors(Arrays.asList(i % 1000, i % 1000 + 1));
+			book.setGenres(Collections.singletonList(i % 50));
+			book.setComments(Arrays.asList(i * 3, i * 3 + 1, i * 3 + 2));
+			book.setCreatedDate(now);
+			book.setLastModifiedDate(now);
+			books.add(book);
+		}
+		return books;
+	}
+
+	private static List<CommentDto> comments() {
+		List<CommentDto> comments = new ArrayList<>();
+		Date now = new Date();
+		for (long i = 1; i <= ELEMENTS_COUNT; i++) {
+			CommentDto comment = new CommentDto();
+			comment.setId(i);
+			comment.setText("Comment number " + i + " about the book");
+			comment.setRating(i % 5);
+			comment.setUser(i % 500);
+			comment.setBook(i % 2000);
+			comment.setCreatedDate(now);
+			comment.setLastModifiedDate(now);
+			comments.add(comment);
+		}
+		return comments;
+	}
+}
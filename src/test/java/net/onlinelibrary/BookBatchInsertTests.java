@@ -0,0 +1,76 @@
+package net.onlinelibrary;
+
+import net.onlinelibrary.model.Book;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class BookBatchInsertTests {
+	private static final int BOOKS_COUNT = 2000;
+	private static final int FLUSH_INTERVAL = 500;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void batchedInsertsUseFewerStatements() {
+		long unbatched = insertBooks(1);
+		long batched = insertBooks(50);
+
+		assertTrue(batched * 10 < unbatched,
+				"batched inserts prepared " + batched + " statements, one per row prepared " + unbatched);
+	}
+
+	// returns the number of prepared statements, the transaction is rolled back
+	private long insertBooks(int jdbcBatchSize) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+		try {
+			entityManager.getTransaction().begin();
+			for (int i = 1; i <= BOOKS_COUNT; i++) {
+				entityManager.persist(newBook(i));
+				if (i % FLUSH_INTERVAL == 0) {
+					entityManager.flush();
+					entityManager.clear();
+				}
+			}
+			entityManager.flush();
+		} finally {
+			entityManager.getTransaction().rollback();
+			entityManager.close();
+		}
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private Book newBook(int number) {
+		Book book = new Book();
+		book.setName("Benchmark book " + number);
+		book.setPagesCount(100);
+		book.setPublicationYear(2000);
+		book.setShortDescription("Benchmark");
+		book.setRating(0L);
+		book.setAuthors(new ArrayList<>());
+		book.setGenres(new ArrayList<>());
+		book.setComments(new ArrayList<>());
+		book.setCreatedDate(new Date());
+		book.setLastModifiedDate(new Date());
+		return book;
+	}
+}
@@ -0,0 +1,99 @@
+package net.onlinelibrary;
+
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Genre;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.repository.CatalogCopyLoader;
+import net.onlinelibrary.repository.GenreRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class CatalogCopyLoaderTests {
+	private static final long FIRST_ID = 900_000_000L;
+	private static final String DATE = "2020-01-01 00:00:00";
+
+	@Autowired
+	private CatalogCopyLoader catalogLoader;
+
+	@Autowired
+	private BookRepository bookRepo;
+
+	@Autowired
+	private GenreRepository genreRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void loadsCatalogAndRestartsSequences() throws Exception {
+		write("authors.csv", "id,last_name,first_name,middle_name,created_date,last_modified_date",
+				(FIRST_ID) + ",Tolstoy,Leo,Nikolayevich," + DATE + "," + DATE);
+		write("genres.csv", "id,genre,created_date,last_modified_date",
+				(FIRST_ID) + ",copy-loader-test-genre," + DATE + "," + DATE);
+		write("books.csv", "id,name,pages_count,avatar,publication_year,short_description,rating,created_date,last_modified_date",
+				(FIRST_ID) + ",War and Peace,1225,avatar,1869,novel,0," + DATE + "," + DATE,
+				(FIRST_ID + 1) + ",Anna Karenina,864,avatar,1878,novel,0," + DATE + "," + DATE);
+		write("book_authors.csv", "book_id,author_id",
+				FIRST_ID + "," + FIRST_ID,
+				(FIRST_ID + 1) + "," + FIRST_ID);
+		write("book_genres.csv", "book_id,genre_id",
+				FIRST_ID + "," + FIRST_ID);
+
+		Map<String, Long> loaded = catalogLoader.load(directory);
+
+		assertEquals(5, loaded.size());
+		assertEquals(2, bookRepo.findAuthorIdsOfBooks(Arrays.asList(FIRST_ID, FIRST_ID + 1)).size());
+		assertEquals(1, bookRepo.findGenreIdsOfBooks(Arrays.asList(FIRST_ID, FIRST_ID + 1)).size());
+
+		Genre genre = new Genre();
+		genre.setGenre("copy-loader-test-genre-after-load");
+		genre.setCreatedDate(new Date());
+		genre.setLastModifiedDate(new Date());
+		assertTrue(genreRepo.save(genre).getId() > FIRST_ID);
+	}
+
+	@AfterEach
+	void deleteLoadedRows() {
+		MetamodelImplementor metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+		for (String role : Arrays.asList(Book.class.getName() + ".authors", Book.class.getName() + ".genres")) {
+			AbstractCollectionPersister joinTable = (AbstractCollectionPersister) metamodel.collectionPersister(role);
+			jdbcTemplate.update("delete from " + joinTable.getTableName() +
+					" where " + joinTable.getKeyColumnNames()[0] + " >= ?", FIRST_ID);
+		}
+
+		jdbcTemplate.update("delete from books where id >= ?", FIRST_ID);
+		jdbcTemplate.update("delete from authors where id >= ?", FIRST_ID);
+		jdbcTemplate.update("delete from genres where genre like 'copy-loader-test-genre%'");
+	}
+
+	private void write(String file, String... lines) throws Exception {
+		Files.write(directory.resolve(file), Arrays.asList(lines), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,145 @@
+package net.onlinelibrary;
+
+import net.onlinelibrary.dto.AuthorDto;
+import net.onlinelibrary.dto.BookDto;
+import net.onlinelibrary.dto.CommentDto;
+import net.onlinelibrary.dto.UserDto;
+import net.onlinelibrary.mapper.implementation.AuthorMapper;
+import net.onlinelibrary.mapper.implementation.BookMapper;
+import net.onlinelibrary.mapper.implementation.CommentMapper;
+import net.onlinelibrary.mapper.implementation.UserMapper;
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.model.Comment;
+import net.onlinelibrary.model.User;
+import net.onlinelibrary.repository.BookRepository;
+import net.onlinelibrary.service.AuthorService;
+import net.onlinelibrary.service.BookService;
+import net.onlinelibrary.service.CommentService;
+import net.onlinelibrary.service.UserService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// the controllers map DTOs outside of any transaction now that open-in-view is off,
+// so the tests do the same and hand detached associations to the services
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class DetachedAssociationsTests {
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AuthorMapper authorMapper;
+
+	@Autowired
+	private BookMapper bookMapper;
+
+	@Autowired
+	private CommentMapper commentMapper;
+
+	@Autowired
+	private UserMapper userMapper;
+
+	@Autowired
+	private BookRepository bookRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Long> authorIds = new ArrayList<>();
+	private final List<Long> bookIds = new ArrayList<>();
+	private final List<Long> commentIds = new ArrayList<>();
+	private final List<Long> userIds = new ArrayList<>();
+
+	@Test
+	void savesBookWithAuthorsAndCommentOnIt() throws Exception {
+		AuthorDto authorDto = new AuthorDto();
+		authorDto.setFirstName("Leo");
+		authorDto.setMiddleName("Nikolayevich");
+		authorDto.setLastName("Tolstoy");
+		Author author = authorService.saveNewAuthor(authorMapper.toEntity(authorDto));
+		authorIds.add(author.getId());
+
+		BookDto bookDto = new BookDto();
+		bookDto.setName("War and Peace");
+		bookDto.setAvatar("avatar");
+		bookDto.setPagesCount(1225);
+		bookDto.setPublicationYear(1869);
+		bookDto.setShortDescription("novel");
+		bookDto.setAuthors(Collections.singletonList(author.getId()));
+		Book book = bookService.saveNewBook(bookMapper.toEntity(bookDto));
+		bookIds.add(book.getId());
+
+		assertEquals(1, bookRepo.findAuthorIdsOfBooks(Collections.singletonList(book.getId())).size());
+
+		UserDto userDto = new UserDto();
+		userDto.setUsername("detached_" + System.nanoTime() % 1_000_000);
+		userDto.setEmail(userDto.getUsername() + "@example.net");
+		userDto.setPassword("Secret.Password1");
+		User user = userService.saveNewUser(userMapper.toEntity(userDto), passwordEncoder.encode(userDto.getPassword()));
+		userIds.add(user.getId());
+
+		CommentDto commentDto = new CommentDto();
+		commentDto.setText("A comment saved while open-in-view is off");
+		commentDto.setUser(user.getId());
+		commentDto.setBook(book.getId());
+		Comment comment = commentService.saveNewComment(commentMapper.toEntity(commentDto));
+		commentIds.add(comment.getId());
+
+		assertNotNull(comment.getId());
+		assertEquals(Arrays.asList(user.getId(), book.getId()), jdbcTemplate.queryForObject(
+				"select user_id, book_id from comments where id = ?",
+				(row, rowNum) -> Arrays.asList(row.getLong(1), row.getLong(2)),
+				comment.getId()));
+	}
+
+	@AfterEach
+	void deleteSavedRows() {
+		delete("comments", "id", commentIds);
+		AbstractCollectionPersister bookAuthors = (AbstractCollectionPersister) entityManagerFactory
+				.unwrap(SessionFactoryImplementor.class)
+				.getMetamodel()
+				.collectionPersister(Book.class.getName() + ".authors");
+		delete(bookAuthors.getTableName(), bookAuthors.getKeyColumnNames()[0], bookIds);
+		delete("books", "id", bookIds);
+		delete("authors", "id", authorIds);
+		delete("user_role", "user_id", userIds);
+		delete("usr", "id", userIds);
+	}
+
+	private void delete(String table, String column, List<Long> ids) {
+		for (Long id : ids)
+			jdbcTemplate.update("delete from " + table + " where " + column + " = ?", id);
+	}
+}
@@ -0,0 +1,83 @@
+package net.onlinelibrary;
+
+import net.onlinelibrary.model.Author;
+import net.onlinelibrary.model.Book;
+import net.onlinelibrary.service.EntityCounterService;
+import net.onlinelibrary.util.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static net.onlinelibrary.StatementCountAssertions.assertStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class StatementBudgetTests {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityCounterService counterService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// the counters are loaded once per instance, the budgets are those of a warm instance;
+	// queries are part of the URIs because the rendered-response cache keys on the query string, which param() leaves unset
+	@BeforeEach
+	void loadCounters() {
+		counterService.getCount(Book.class);
+		counterService.getCount(Author.class);
+	}
+
+	// change probe and the page itself, the public view renders no association ids
+	@Test
+	void booksPageIssuesAtMostTwoStatements() throws Throwable {
+		MvcResult result = assertStatementsAtMost(2, () -> mockMvc
+				.perform(get("/api/books?offset=0&count=50"))
+				.andExpect(status().isOk())
+				.andReturn());
+
+		assertNotNull(result.getResponse().getHeader(Headers.SQL_STATEMENTS));
+	}
+
+	// change probe and the projection, no association is requested
+	@Test
+	void sparseBooksPageIssuesAtMostTwoStatements() throws Throwable {
+		assertStatementsAtMost(2, () -> mockMvc
+				.perform(get("/api/books?offset=0&count=50&fields=name,avatar"))
+				.andExpect(status().isOk())
+				.andReturn());
+	}
+
+	@Test
+	void authorsPageIssuesAtMostTwoStatements() throws Throwable {
+		assertStatementsAtMost(2, () -> mockMvc
+				.perform(get("/api/authors?offset=0&count=50"))
+				.andExpect(status().isOk())
+				.andReturn());
+	}
+
+	// the book, its author and genre collections and the first comment page, the public view renders no association ids
+	@Test
+	void bookDetailsIssueAtMostFourStatements() throws Throwable {
+		Long bookId = jdbcTemplate.query("select id from books order by id limit 1", rs -> rs.next() ? rs.getLong(1) : null);
+		assumeTrue(bookId != null, "no book to load the details of");
+
+		assertStatementsAtMost(4, () -> mockMvc
+				.perform(get("/api/books/{id}/details", bookId))
+				.andExpect(status().isOk())
+				.andReturn());
+	}
+}
@@ -0,0 +1,24 @@
+package net.onlinelibrary;
+
+import net.onlinelibrary.monitoring.StatementCount;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class StatementCountAssertions {
+	private StatementCountAssertions() {
+	}
+
+	// counts every statement Hibernate prepares on the calling thread while work runs, MockMvc requests included
+	static <T> T assertStatementsAtMost(int budget, ThrowingSupplier<T> work) throws Throwable {
+		StatementCount count = StatementCount.start();
+		try {
+			T result = work.get();
+			assertTrue(count.getStatements() <= budget, () ->
+					"expected at most " + budget + " SQL statements, but " + count.getStatements() + " were issued");
+			return result;
+		} finally {
+			StatementCount.stop();
+		}
+	}
+}